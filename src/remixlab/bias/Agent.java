@@ -12,8 +12,7 @@ package remixlab.bias;
 
 import remixlab.bias.event.MotionEvent;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Agents gather data from different sources --mostly from input devices such touch
@@ -39,15 +38,21 @@ import java.util.List;
  */
 public abstract class Agent {
   protected List<Grabber> grabberList;
+  // identity membership of the grabbers, see hasGrabber(Grabber)
+  protected Set<Grabber> grabberSet;
+  protected long grabbersVersion;
   protected Grabber trackedGrabber, defaultGrabber;
   protected boolean agentTrckn;
   protected InputHandler handler;
+  // default (unit) sensitivities, see sensitivities()
+  private float[] sensitivities = {1f, 1f, 1f, 1f, 1f, 1f};
 
   /**
    * Constructs an Agent and registers is at the given inputHandler.
    */
   public Agent(InputHandler inputHandler) {
     grabberList = new ArrayList<Grabber>();
+    grabberSet = Collections.newSetFromMap(new IdentityHashMap<Grabber, Boolean>());
     setTracking(true);
     handler = inputHandler;
     handler.registerAgent(this);
@@ -68,7 +73,16 @@ public abstract class Agent {
       setDefaultGrabber(null);
     if (trackedGrabber() == grabber)
       resetTrackedGrabber();
-    return grabberList.remove(grabber);
+    if (!grabberSet.remove(grabber))
+      return false;
+    grabbersVersion++;
+    // compare by identity (scanning backwards) since grabbers may override equals()
+    for (int i = grabberList.size() - 1; i >= 0; i--)
+      if (grabberList.get(i) == grabber) {
+        grabberList.remove(i);
+        break;
+      }
+    return true;
   }
 
   /**
@@ -83,6 +97,8 @@ public abstract class Agent {
     setDefaultGrabber(null);
     trackedGrabber = null;
     grabberList.clear();
+    grabberSet.clear();
+    grabbersVersion++;
   }
 
   /**
@@ -99,6 +115,7 @@ public abstract class Agent {
 
   /**
    * Returns true if the grabber is currently in the agents {@link #grabbers()} list.
+   * Takes constant time.
    *
    * @see #removeGrabber(Grabber)
    * @see #addGrabber(Grabber)
@@ -106,10 +123,7 @@ public abstract class Agent {
    * @see #removeGrabbers()
    */
   public boolean hasGrabber(Grabber grabber) {
-    for (Grabber g : grabbers())
-      if (g == grabber)
-        return true;
-    return false;
+    return grabberSet.contains(grabber);
   }
 
   /**
@@ -123,11 +137,23 @@ public abstract class Agent {
   public boolean addGrabber(Grabber grabber) {
     if (grabber == null)
       return false;
-    if (hasGrabber(grabber))
+    if (!grabberSet.add(grabber))
       return false;
+    grabbersVersion++;
     return grabberList.add(grabber);
   }
 
+  /**
+   * Returns a counter which is incremented every time the {@link #grabbers()} list
+   * changes. Useful to cache data derived from the grabbers list.
+   *
+   * @see #addGrabber(Grabber)
+   * @see #removeGrabber(Grabber)
+   */
+  public long grabbersVersion() {
+    return grabbersVersion;
+  }
+
   /**
    * Feeds {@link #updateTrackedGrabber(BogusEvent)} and {@link #handle(BogusEvent)} with
    * the returned event. Returns null by default. Use it in place of
@@ -192,7 +218,8 @@ public abstract class Agent {
 
   /**
    * If {@link #isTracking()} and the agent is registered at the {@link #inputHandler()}
-   * then queries each object in the {@link #grabbers()} to check if the
+   * then queries each object in the {@link #grabbers()} (actually only the
+   * {@link #candidateGrabbers(BogusEvent)}) to check if the
    * {@link Grabber#checkIfGrabsInput(BogusEvent)}) condition is met.
    * The first object meeting the condition will be set as the {@link #inputGrabber()} and
    * returned. Note that a null grabber means that no object in the {@link #grabbers()}
@@ -227,7 +254,7 @@ public abstract class Agent {
         return trackedGrabber();
     // pick the first otherwise
     trackedGrabber = null;
-    for (Grabber grabber : grabberList)
+    for (Grabber grabber : candidateGrabbers(event))
       if (grabber != dG && grabber != tG)
         if (grabber.checkIfGrabsInput(event)) {
           trackedGrabber = grabber;
@@ -236,12 +263,28 @@ public abstract class Agent {
     return trackedGrabber();
   }
 
+  /**
+   * Returns the {@link #grabbers()} that {@link #updateTrackedGrabber(BogusEvent)} should
+   * query with the given {@code event}. Default implementation simply returns all the
+   * {@link #grabbers()}.
+   * <p>
+   * Override it to discard the grabbers that cannot meet the
+   * {@link Grabber#checkIfGrabsInput(BogusEvent)} condition (e.g., those lying far from
+   * the pointer position). Note that the returned grabbers should keep their
+   * {@link #grabbers()} relative order, since the first one meeting the condition is the
+   * one being tracked.
+   */
+  protected List<Grabber> candidateGrabbers(BogusEvent event) {
+    return grabbers();
+  }
+
   /**
    * Returns the sensitivities used in {@link #handle(BogusEvent)} to
-   * {@link remixlab.bias.event.MotionEvent#modulate(float[])}.
+   * {@link remixlab.bias.event.MotionEvent#modulate(float[])}. The returned array belongs
+   * to this agent and is reused among calls.
    */
   public float[] sensitivities(MotionEvent event) {
-    return new float[]{1f, 1f, 1f, 1f, 1f, 1f};
+    return sensitivities;
   }
 
   /**
@@ -267,7 +310,7 @@ public abstract class Agent {
       ((MotionEvent) event).modulate(sensitivities((MotionEvent) event));
     Grabber inputGrabber = inputGrabber();
     if (inputGrabber != null)
-      return inputHandler().enqueueEventTuple(new EventGrabberTuple(event, inputGrabber));
+      return inputHandler().enqueueEventTuple(inputHandler().eventTuple(event, inputGrabber));
     return false;
   }
 
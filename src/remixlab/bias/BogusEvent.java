@@ -52,6 +52,8 @@ public class BogusEvent implements Copyable {
   public static final int ALT_GRAPH = 1 << 4;
 
   private boolean fire, flush;
+  // see setRecyclable()
+  private boolean recyclable;
 
   @Override
   public int hashCode() {
@@ -71,7 +73,7 @@ public class BogusEvent implements Copyable {
     return new EqualsBuilder().append(modifiers, other.modifiers).append(id, other.id).isEquals();
   }
 
-  protected final int modifiers;
+  protected int modifiers;
   protected long timestamp;
   protected int id;
 
@@ -107,9 +109,64 @@ public class BogusEvent implements Copyable {
     return new BogusEvent(this);
   }
 
+  /**
+   * Re-initializes a (recycled) event, as if it were constructed with the given
+   * {@code modifiers} and {@code id}. Used by the {@code set()} methods of derived
+   * classes.
+   *
+   * @see #setRecyclable(boolean)
+   */
+  protected void set(int modifiers, int id) {
+    this.modifiers = modifiers;
+    this.id = id;
+    timestamp = System.currentTimeMillis();
+    fire = false;
+    flush = false;
+  }
+
+  /**
+   * Copies the {@code other} event state into this one. Used by the {@code set()}
+   * methods of derived classes. Contrary to {@link #get()} the {@link #timestamp()} is
+   * copied too.
+   */
+  protected void set(BogusEvent other) {
+    this.modifiers = other.modifiers;
+    this.id = other.id;
+    this.timestamp = other.timestamp;
+    this.fire = other.fire;
+    this.flush = other.flush;
+  }
+
+  /**
+   * Declares the event as recyclable (or not), i.e., the event producer (typically an
+   * agent) ensures the event isn't referenced after having been performed. Recyclable
+   * events are handed back to the {@link InputHandler} pool once performed (provided that
+   * event pooling is enabled, see {@link InputHandler#enableEventPooling()}) and
+   * {@link #fire()} and {@link #flush()} set their flags without copying them.
+   * <p>
+   * Note that a recyclable event is only valid during its
+   * {@link Grabber#performInteraction(BogusEvent)}: use {@link #get()} to keep a copy of
+   * it.
+   *
+   * @see InputHandler#recycledEvent(Class)
+   */
+  public void setRecyclable(boolean recyclable) {
+    this.recyclable = recyclable;
+  }
+
+  /**
+   * Returns {@code true} if the event is recyclable.
+   *
+   * @see #setRecyclable(boolean)
+   */
+  public boolean isRecyclable() {
+    return recyclable;
+  }
+
   /**
    * Same as {@code this.get()} but sets the {@link #flushed()} flag to true. Only agents
-   * may call this.
+   * may call this. Recyclable events (see {@link #setRecyclable(boolean)}) are flagged
+   * without being copied.
    *
    * @see #flushed()
    */
@@ -118,14 +175,15 @@ public class BogusEvent implements Copyable {
       System.out.println("Warning: event already " + (fired() ? "fired" : "flushed"));
       return this;
     }
-    BogusEvent bogusevent = this.get();
+    BogusEvent bogusevent = isRecyclable() ? this : this.get();
     bogusevent.flush = true;
     return bogusevent;
   }
 
   /**
    * Same as {@code this.get()} but sets the {@link #fired()} flag to true. Only agents
-   * may call this.
+   * may call this. Recyclable events (see {@link #setRecyclable(boolean)}) are flagged
+   * without being copied.
    *
    * @see #flushed()
    */
@@ -134,7 +192,7 @@ public class BogusEvent implements Copyable {
       System.out.println("Warning: event already " + (fired() ? "fired" : "flushed"));
       return this;
     }
-    BogusEvent bogusevent = this.get();
+    BogusEvent bogusevent = isRecyclable() ? this : this.get();
     bogusevent.fire = true;
     return bogusevent;
   }
@@ -167,6 +225,30 @@ public class BogusEvent implements Copyable {
     return new Shortcut(modifiers(), id());
   }
 
+  /**
+   * Returns the class of the event {@link #shortcut()}, without instantiating it.
+   * <p>
+   * Together with {@link #modifiers()}, {@link #id()} and {@link #shortcutData()} it
+   * identifies the event {@link #shortcut()}, which allows {@link Profile#handle(BogusEvent)}
+   * to look up its binding without allocating. Events overriding {@link #shortcut()}
+   * should override both methods consistently (otherwise the shortcut is instantiated).
+   *
+   * @see Shortcut#data()
+   */
+  public Class<? extends Shortcut> shortcutClass() {
+    return Shortcut.class;
+  }
+
+  /**
+   * Returns the {@link Shortcut#data()} of the event {@link #shortcut()}, without
+   * instantiating it.
+   *
+   * @see #shortcutClass()
+   */
+  public int shortcutData() {
+    return 0;
+  }
+
   /**
    * @return the modifiers defining the event {@link Shortcut}.
    */
@@ -0,0 +1,106 @@
+/**************************************************************************************
+ * bias_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+package remixlab.bias;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Internal use. A bounded, lock-free, multiple-producer single-consumer queue of
+ * {@link EventGrabberTuple}s, i.e., a ring buffer whose slots are tagged with a sequence
+ * number telling whether they're ready to be written by a producer or read by the
+ * consumer. Any thread may {@link #offer(EventGrabberTuple)} tuples, but only the
+ * {@link InputHandler#handle()} thread should {@link #poll()} them.
+ * <p>
+ * A tuple may be enqueued only once at a time, which is checked in constant time
+ * through its {@code EventGrabberTuple.queued} flag.
+ *
+ * @see InputHandler#enableConcurrentEventQueue(int)
+ */
+class ConcurrentEventTupleQueue {
+  private static final AtomicIntegerFieldUpdater<EventGrabberTuple> QUEUED = AtomicIntegerFieldUpdater
+      .newUpdater(EventGrabberTuple.class, "queued");
+
+  private final AtomicReferenceArray<EventGrabberTuple> buffer;
+  // slot i is writable at position p when sequences[i] == p and readable when == p + 1
+  private final AtomicLongArray sequences;
+  private final int mask;
+  // next position to be written (by any producer) and read (by the consumer)
+  private final AtomicLong tail = new AtomicLong();
+  private long head;
+
+  /**
+   * Creates a queue holding up to {@code capacity} tuples, rounded up to the next power
+   * of two.
+   */
+  ConcurrentEventTupleQueue(int capacity) {
+    int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+    buffer = new AtomicReferenceArray<EventGrabberTuple>(size);
+    sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++)
+      sequences.set(i, i);
+    mask = size - 1;
+  }
+
+  /**
+   * Returns the maximum number of tuples the queue may hold.
+   */
+  int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Enqueues the tuple. Returns {@code false} if the tuple is already enqueued or if the
+   * queue is full. Safe to be called from any thread.
+   */
+  boolean offer(EventGrabberTuple tuple) {
+    if (!QUEUED.compareAndSet(tuple, 0, 1))
+      return false;
+    while (true) {
+      long position = tail.get();
+      int slot = (int) (position & mask);
+      long difference = sequences.get(slot) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          buffer.lazySet(slot, tuple);
+          // publishes the tuple to the consumer
+          sequences.lazySet(slot, position + 1);
+          return true;
+        }
+      } else if (difference < 0) {
+        // the slot hasn't been consumed since the previous lap: the queue is full
+        QUEUED.set(tuple, 0);
+        return false;
+      }
+      // otherwise another producer has just claimed the position: retry
+    }
+  }
+
+  /**
+   * Dequeues the eldest tuple, or returns {@code null} if the queue is empty. Should only
+   * be called from the consumer thread.
+   */
+  EventGrabberTuple poll() {
+    int slot = (int) (head & mask);
+    if (sequences.get(slot) != head + 1)
+      return null;
+    EventGrabberTuple tuple = buffer.get(slot);
+    buffer.lazySet(slot, null);
+    // releases the slot for the producers' next lap
+    sequences.lazySet(slot, head + mask + 1);
+    head++;
+    // the tuple may be enqueued again, even from its own performInteraction()
+    QUEUED.set(tuple, 0);
+    return tuple;
+  }
+}
@@ -22,6 +22,11 @@ package remixlab.bias;
 public class EventGrabberTuple {
   protected BogusEvent event;
   protected Grabber grabber;
+  // set while the tuple is enqueued in a concurrent event queue, see
+  // InputHandler.enableConcurrentEventQueue()
+  volatile int queued;
+  // true when obtained from the InputHandler pool, see InputHandler.eventTuple()
+  boolean pooled;
 
   /**
    * Constructs a {@link BogusEvent},
@@ -35,6 +40,14 @@ public class EventGrabberTuple {
     grabber = g;
   }
 
+  /**
+   * Internal use. Re-initializes a pooled tuple.
+   */
+  void set(BogusEvent e, Grabber g) {
+    event = e;
+    grabber = g;
+  }
+
   /**
    * Calls {@link Grabber#performInteraction(BogusEvent)}.
    *
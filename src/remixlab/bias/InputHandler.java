@@ -10,7 +10,10 @@
 
 package remixlab.bias;
 
+import remixlab.bias.event.MotionEvent;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -27,11 +30,24 @@ import java.util.List;
  * {@link #handle()}. Therefore, simply attach a call to {@link #handle()} at the end of
  * your main event (drawing) loop for that to take effect (like it's done in
  * <b>dandelion</b> by the <b>AbstractScene.postDraw()</b> method).
+ * <p>
+ * Devices delivering their events on their own threads may safely enqueue tuples from
+ * those threads once the concurrent event queue is enabled (see
+ * {@link #enableConcurrentEventQueue()}).
  */
 public class InputHandler {
   // D E V I C E S & E V E N T S
   protected List<Agent> agents;
   protected LinkedList<EventGrabberTuple> eventTupleQueue;
+  // lock-free tuple queue, used instead of the above when non-null
+  private volatile ConcurrentEventTupleQueue concurrentQueue;
+  protected boolean eventCoalescing;
+  // P O O L S
+  protected static final int POOL_CAPACITY = 1024;
+  protected volatile boolean eventPooling;
+  // guarded by their own locks, since agents may feed events from other threads
+  protected ArrayList<EventGrabberTuple> tuplePool = new ArrayList<EventGrabberTuple>();
+  protected HashMap<Class<?>, ArrayList<BogusEvent>> eventPool = new HashMap<Class<?>, ArrayList<BogusEvent>>();
 
   public InputHandler() {
     // agents
@@ -57,7 +73,13 @@ public class InputHandler {
    * replace both of the previous feeds when they are null.<br>
    * 2. User-defined action consumer loop: which for each
    * {@link EventGrabberTuple} calls
-   * {@link EventGrabberTuple#perform()}.<br>
+   * {@link EventGrabberTuple#perform()}. When the concurrent event queue is enabled, at
+   * most its capacity tuples are performed per call, so that producer threads can't
+   * stall the loop. When event coalescing is enabled, consecutive tuples of relative
+   * motion events are merged before being performed (see
+   * {@link #enableEventCoalescing()}). When event pooling is enabled, performed tuples
+   * and recyclable events are handed back to their pools (see
+   * {@link #enableEventPooling()}).<br>
    *
    * @see Agent#feed()
    * @see Agent#updateTrackedGrabberFeed()
@@ -71,8 +93,247 @@ public class InputHandler {
       agent.handle(agent.handleFeed() != null ? agent.handleFeed() : agent.feed());
     }
     // 2. Low level events
-    while (!eventTupleQueue.isEmpty())
-      eventTupleQueue.remove().perform();
+    EventGrabberTuple pending = null;
+    while (!eventTupleQueue.isEmpty() || pending != null)
+      if (eventTupleQueue.isEmpty()) {
+        // performing it may enqueue other tuples
+        perform(pending);
+        pending = null;
+      } else
+        pending = schedule(pending, eventTupleQueue.remove());
+    ConcurrentEventTupleQueue queue = concurrentQueue;
+    if (queue != null) {
+      for (int i = queue.capacity(); i > 0; i--) {
+        EventGrabberTuple eventTuple = queue.poll();
+        if (eventTuple == null)
+          break;
+        pending = schedule(pending, eventTuple);
+      }
+      if (pending != null)
+        perform(pending);
+    }
+  }
+
+  /**
+   * Used by {@link #handle()} to perform the dequeued {@code eventTuple}. When event
+   * coalescing is enabled the tuple is held back (and returned) until the next one is
+   * dequeued, so that the latter may accumulate its motion event (see
+   * {@link MotionEvent#coalesce(MotionEvent)}). The {@code pending} tuple is performed
+   * otherwise.
+   */
+  private EventGrabberTuple schedule(EventGrabberTuple pending, EventGrabberTuple eventTuple) {
+    if (!eventCoalescing) {
+      if (pending != null)
+        perform(pending);
+      perform(eventTuple);
+      return null;
+    }
+    if (pending == null)
+      return eventTuple;
+    if (coalesce(pending, eventTuple))
+      recycle(pending);
+    else
+      perform(pending);
+    return eventTuple;
+  }
+
+  /**
+   * Performs the {@code eventTuple} and then recycles it.
+   */
+  private void perform(EventGrabberTuple eventTuple) {
+    eventTuple.perform();
+    recycle(eventTuple);
+  }
+
+  /**
+   * Hands the (already performed or discarded) {@code eventTuple} back to the tuple pool
+   * if it was obtained from it, and its event back to the event pool if it's recyclable.
+   * Nothing is done if event pooling is disabled.
+   */
+  private void recycle(EventGrabberTuple eventTuple) {
+    if (!eventPooling)
+      return;
+    BogusEvent event = eventTuple.event();
+    if (event != null && event.isRecyclable())
+      synchronized (eventPool) {
+        ArrayList<BogusEvent> events = eventPool.get(event.getClass());
+        if (events == null)
+          eventPool.put(event.getClass(), events = new ArrayList<BogusEvent>());
+        if (events.size() < POOL_CAPACITY)
+          events.add(event);
+      }
+    if (eventTuple.pooled) {
+      eventTuple.set(null, null);
+      synchronized (tuplePool) {
+        if (tuplePool.size() < POOL_CAPACITY)
+          tuplePool.add(eventTuple);
+      }
+    }
+  }
+
+  /**
+   * Returns an event tuple for the given {@code event} and {@code grabber}, recycled from
+   * the tuple pool when event pooling is enabled (see {@link #enableEventPooling()}).
+   * Pooled tuples are handed back to the pool by {@link #handle()} once performed, so
+   * they should be enqueued (see {@link #enqueueEventTuple(EventGrabberTuple)}) right
+   * away and not be referenced afterwards.
+   * <p>
+   * The pools are guarded by (uncontended, hence cheap) locks, so that it may be called
+   * from any thread, e.g., by agents feeding a concurrent event queue (see
+   * {@link #enableConcurrentEventQueue()}). A recycled tuple is handed to a single caller.
+   *
+   * @see Agent#handle(BogusEvent)
+   */
+  public EventGrabberTuple eventTuple(BogusEvent event, Grabber grabber) {
+    if (!eventPooling)
+      return new EventGrabberTuple(event, grabber);
+    EventGrabberTuple eventTuple = null;
+    synchronized (tuplePool) {
+      if (!tuplePool.isEmpty())
+        eventTuple = tuplePool.remove(tuplePool.size() - 1);
+    }
+    if (eventTuple == null) {
+      eventTuple = new EventGrabberTuple(event, grabber);
+      eventTuple.pooled = true;
+    } else
+      eventTuple.set(event, grabber);
+    return eventTuple;
+  }
+
+  /**
+   * Returns a recyclable event of the given class, previously handed back to the event
+   * pool by {@link #handle()}, or {@code null} if none is available (or if event pooling
+   * is disabled). The returned event should be re-initialized with one of its
+   * {@code set()} methods, e.g.:
+   * <p>
+   * <pre>
+   * {@code
+   * DOF2Event event = inputHandler.recycledEvent(DOF2Event.class);
+   * if (event == null) {
+   *   event = new DOF2Event(prevEvent, x, y, modifiers, id);
+   *   event.setRecyclable(true);
+   * }
+   * else
+   *   event.set(prevEvent, x, y, modifiers, id);
+   * }
+   * </pre>
+   * <p>
+   * Like {@link #eventTuple(BogusEvent, Grabber)}, it may be called from any thread.
+   *
+   * @see BogusEvent#setRecyclable(boolean)
+   */
+  @SuppressWarnings("unchecked")
+  public <E extends BogusEvent> E recycledEvent(Class<E> cls) {
+    if (!eventPooling)
+      return null;
+    synchronized (eventPool) {
+      ArrayList<BogusEvent> events = eventPool.get(cls);
+      return events == null || events.isEmpty() ? null : (E) events.remove(events.size() - 1);
+    }
+  }
+
+  /**
+   * Enables event pooling: once performed, the tuples obtained through
+   * {@link #eventTuple(BogusEvent, Grabber)} and the recyclable events (see
+   * {@link BogusEvent#setRecyclable(boolean)}) are handed back to their pools, from where
+   * they may be reused (see {@link #recycledEvent(Class)}). Together with the agents
+   * reusing them, the input path may thus run allocation-free.
+   *
+   * @see #disableEventPooling()
+   */
+  public void enableEventPooling() {
+    eventPooling = true;
+  }
+
+  /**
+   * Disables event pooling and clears the pools.
+   *
+   * @see #enableEventPooling()
+   */
+  public void disableEventPooling() {
+    eventPooling = false;
+    synchronized (tuplePool) {
+      tuplePool.clear();
+    }
+    synchronized (eventPool) {
+      eventPool.clear();
+    }
+  }
+
+  /**
+   * Toggles event pooling.
+   *
+   * @see #enableEventPooling()
+   */
+  public void toggleEventPooling() {
+    if (isEventPoolingEnabled())
+      disableEventPooling();
+    else
+      enableEventPooling();
+  }
+
+  /**
+   * Returns {@code true} if event pooling is enabled and {@code false} otherwise.
+   *
+   * @see #enableEventPooling()
+   */
+  public boolean isEventPoolingEnabled() {
+    return eventPooling;
+  }
+
+  /**
+   * Accumulates the {@code previous} tuple motion event into the {@code eventTuple} one,
+   * provided that both tuples target the same grabber. Returns {@code true} if succeeded
+   * and {@code false} otherwise.
+   */
+  private boolean coalesce(EventGrabberTuple previous, EventGrabberTuple eventTuple) {
+    // tuple subclasses may perform them differently
+    if (previous.getClass() != EventGrabberTuple.class || eventTuple.getClass() != EventGrabberTuple.class)
+      return false;
+    if (previous.grabber() != eventTuple.grabber() || !(previous.event() instanceof MotionEvent)
+        || !(eventTuple.event() instanceof MotionEvent))
+      return false;
+    return ((MotionEvent) eventTuple.event()).coalesce((MotionEvent) previous.event());
+  }
+
+  /**
+   * Enables event coalescing: consecutive enqueued tuples targeting the same grabber
+   * whose events are relative motion events having the same shortcut (e.g., all the
+   * mouse drags issued between two frames) are merged into a single one by
+   * {@link #handle()}, so that the grabber performs the interaction just once per frame.
+   *
+   * @see MotionEvent#coalesce(MotionEvent)
+   * @see #disableEventCoalescing()
+   */
+  public void enableEventCoalescing() {
+    eventCoalescing = true;
+  }
+
+  /**
+   * Disables event coalescing.
+   *
+   * @see #enableEventCoalescing()
+   */
+  public void disableEventCoalescing() {
+    eventCoalescing = false;
+  }
+
+  /**
+   * Toggles event coalescing.
+   *
+   * @see #enableEventCoalescing()
+   */
+  public void toggleEventCoalescing() {
+    eventCoalescing = !eventCoalescing;
+  }
+
+  /**
+   * Returns {@code true} if event coalescing is enabled and {@code false} otherwise.
+   *
+   * @see #enableEventCoalescing()
+   */
+  public boolean isEventCoalescingEnabled() {
+    return eventCoalescing;
   }
 
   /**
@@ -190,7 +451,75 @@ public class InputHandler {
   }
 
   /**
-   * Returns the event tuple queue. Rarely needed.
+   * Enables the concurrent event queue with a capacity of 1024 tuples.
+   *
+   * @see #enableConcurrentEventQueue(int)
+   */
+  public void enableConcurrentEventQueue() {
+    enableConcurrentEventQueue(1024);
+  }
+
+  /**
+   * Enables a bounded lock-free event queue, holding up to {@code capacity} tuples
+   * (rounded up to the next power of two), which may be fed from any thread through
+   * {@link #enqueueEventTuple(EventGrabberTuple)}, e.g., by a device delivering its events
+   * on its own thread. Tuples are enqueued in constant time and performed (on the
+   * {@link #handle()} thread) in the order they were enqueued.
+   * <p>
+   * Should be called from the {@link #handle()} thread. Tuples still in the default
+   * {@link #eventTupleQueue()} are performed first.
+   *
+   * @see #disableConcurrentEventQueue()
+   */
+  public void enableConcurrentEventQueue(int capacity) {
+    if (capacity < 1)
+      throw new RuntimeException("The event queue capacity should be positive");
+    ConcurrentEventTupleQueue queue = new ConcurrentEventTupleQueue(capacity);
+    disableConcurrentEventQueue();
+    concurrentQueue = queue;
+  }
+
+  /**
+   * Disables the concurrent event queue, moving its pending tuples to the default
+   * {@link #eventTupleQueue()}. Should be called from the {@link #handle()} thread once
+   * producer threads have stopped enqueueing tuples.
+   *
+   * @see #enableConcurrentEventQueue(int)
+   */
+  public void disableConcurrentEventQueue() {
+    ConcurrentEventTupleQueue queue = concurrentQueue;
+    concurrentQueue = null;
+    if (queue != null)
+      for (EventGrabberTuple eventTuple = queue.poll(); eventTuple != null; eventTuple = queue.poll())
+        enqueueEventTuple(eventTuple);
+  }
+
+  /**
+   * Toggles the concurrent event queue.
+   *
+   * @see #enableConcurrentEventQueue()
+   * @see #disableConcurrentEventQueue()
+   */
+  public void toggleConcurrentEventQueue() {
+    if (isConcurrentEventQueueEnabled())
+      disableConcurrentEventQueue();
+    else
+      enableConcurrentEventQueue();
+  }
+
+  /**
+   * Returns {@code true} if the concurrent event queue is enabled.
+   *
+   * @see #enableConcurrentEventQueue(int)
+   */
+  public boolean isConcurrentEventQueueEnabled() {
+    return concurrentQueue != null;
+  }
+
+  /**
+   * Returns the event tuple queue. Rarely needed. Note that tuples enqueued while the
+   * concurrent event queue is enabled (see {@link #enableConcurrentEventQueue(int)}) are
+   * not held by it.
    */
   public LinkedList<EventGrabberTuple> eventTupleQueue() {
     return eventTupleQueue;
@@ -198,11 +527,18 @@ public class InputHandler {
 
   /**
    * Enqueues the eventTuple for later execution which happens at the end of
-   * {@link #handle()}. Returns {@code true} if succeeded and {@code false} otherwise.
+   * {@link #handle()}. Returns {@code true} if succeeded and {@code false} otherwise,
+   * i.e., if the tuple is already enqueued or if the concurrent event queue is full.
+   * <p>
+   * Only thread-safe when the concurrent event queue is enabled.
    *
    * @see #handle()
+   * @see #enableConcurrentEventQueue(int)
    */
   public boolean enqueueEventTuple(EventGrabberTuple eventTuple) {
+    ConcurrentEventTupleQueue queue = concurrentQueue;
+    if (queue != null)
+      return queue.offer(eventTuple);
     if (!eventTupleQueue.contains(eventTuple))
       return eventTupleQueue.add(eventTuple);
     return false;
@@ -218,9 +554,13 @@ public class InputHandler {
   }
 
   /**
-   * Clears the event queue. Nothing is executed.
+   * Clears the event queue (and the concurrent one, if enabled). Nothing is executed.
    */
   public void removeEventTuples() {
     eventTupleQueue.clear();
+    ConcurrentEventTupleQueue queue = concurrentQueue;
+    if (queue != null)
+      for (int i = queue.capacity(); i > 0 && queue.poll() != null; i--)
+        ;
   }
 }
@@ -10,11 +10,17 @@
 
 package remixlab.bias;
 
+import remixlab.bias.event.ClickShortcut;
+import remixlab.bias.event.KeyboardShortcut;
+import remixlab.bias.event.MotionShortcut;
+import remixlab.util.MethodInvocation;
+
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link Grabber} extension which allows to define
@@ -37,18 +43,53 @@ import java.util.Map.Entry;
  * {@link #Profile(Grabber)} constructor.
  */
 public class Profile {
-  class ObjectMethodTuple {
+  static class ObjectMethodTuple {
+    // null when the action is implemented by the profile grabber, which is passed to
+    // invoke(), so that the tuple may be shared among the profiles of several grabbers
     Object object;
     Method method;
+    // arguments, resolved at binding time: [grabber,] [event]
+    MethodInvocation invocation;
+    boolean grabberParam;
 
     ObjectMethodTuple(Object o, Method m) {
       object = o;
       method = m;
+      grabberParam = o != null;
+      invocation = new MethodInvocation(m);
     }
+
+    boolean invoke(Grabber grabber, BogusEvent event) {
+      try {
+        if (grabberParam)
+          invocation.invoke(object, grabber, event);
+        else
+          invocation.invoke(grabber, event, null);
+        return true;
+      } catch (Exception e) {
+        System.out.println("Something went wrong when invoking your " + method.getName() + " method");
+        e.printStackTrace();
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Internal use. The bindings of a profile, which may be shared among several profiles
+   * (see {@link Profile#set(Profile)}). Shared bindings are never modified: a profile
+   * willing to modify them forks a private copy first (see {@link Profile#fork()}).
+   */
+  static class Bindings {
+    HashMap<Shortcut, ObjectMethodTuple> map = new HashMap<Shortcut, ObjectMethodTuple>();
+    // primitive-keyed copy of the map, lazily rebuilt when the bindings change, see tuple()
+    ShortcutMap<ObjectMethodTuple> table = new ShortcutMap<ObjectMethodTuple>();
+    boolean tableUpdated, shared;
   }
 
-  protected HashMap<Shortcut, ObjectMethodTuple> map;
+  protected Bindings bindings;
   protected Grabber grabber;
+  // kept apart from the grabber, which is null for snapshots, see snapshot()
+  protected Class<?> grabberClass;
 
   // static stuff
 
@@ -90,26 +131,54 @@ public class Profile {
    * Attaches a profile to the given grabber.
    */
   public Profile(Grabber g) {
-    map = new HashMap<Shortcut, ObjectMethodTuple>();
+    bindings = new Bindings();
     grabber = g;
+    grabberClass = g.getClass();
+  }
+
+  /**
+   * Returns a profile sharing this profile bindings (see {@link #set(Profile)}), but
+   * attached to no grabber (its {@link #grabber()} is {@code null}), so that it doesn't
+   * keep this profile grabber from being garbage collected. Meant to cache the bindings to
+   * be later {@link #set(Profile)} to other grabbers of the same type; it shouldn't be
+   * used otherwise.
+   */
+  public Profile snapshot() {
+    Profile snapshot = new Profile(grabber);
+    snapshot.set(this);
+    snapshot.grabber = null;
+    return snapshot;
   }
 
   /**
    * Instantiates this profile from another profile. Both Profile {@link #grabber()}
    * should be of the same type.
+   * <p>
+   * The bindings are not copied but shared among both profiles, until any of them
+   * customizes them (see {@link #fork()}). Hence a large number of grabbers sharing the
+   * same bindings may be cheaply instantiated.
    */
   public void set(Profile p) {
-    if (grabber.getClass() != p.grabber.getClass()) {
+    if (grabberClass != p.grabberClass) {
       System.err.println("Profile grabbers should be of the same type");
       return;
     }
-    map = new HashMap<Shortcut, ObjectMethodTuple>();
-    for (Map.Entry<Shortcut, ObjectMethodTuple> entry : p.map().entrySet()) {
-      if (entry.getValue().object == p.grabber)
-        map.put(entry.getKey(), new ObjectMethodTuple(grabber, entry.getValue().method));
-      else
-        map.put(entry.getKey(), new ObjectMethodTuple(entry.getValue().object, entry.getValue().method));
+    p.bindings.shared = true;
+    bindings = p.bindings;
+  }
+
+  /**
+   * Makes this profile the sole owner of its bindings, forking a private copy of them
+   * if they're shared with other profiles (see {@link #set(Profile)}). Called before
+   * modifying the bindings.
+   */
+  protected void fork() {
+    if (bindings.shared) {
+      Bindings copy = new Bindings();
+      copy.map.putAll(bindings.map);
+      bindings = copy;
     }
+    bindings.tableUpdated = false;
   }
 
   // public HashMap<Shortcut, Method>
@@ -118,7 +187,7 @@ public class Profile {
    * Returns this profile set of shortcuts.
    */
   public Set<Shortcut> shortcuts() {
-    return map.keySet();
+    return map().keySet();
   }
 
   /**
@@ -132,7 +201,7 @@ public class Profile {
    * Internal use. Shortcut to object-method map.
    */
   protected HashMap<Shortcut, ObjectMethodTuple> map() {
-    return map;
+    return bindings.map;
   }
 
   /**
@@ -142,7 +211,8 @@ public class Profile {
    * @see #action(Shortcut)
    */
   public Method method(Shortcut shortcut) {
-    return map.get(shortcut) == null ? null : map.get(shortcut).method;
+    ObjectMethodTuple tuple = map().get(shortcut);
+    return tuple == null ? null : tuple.method;
   }
 
   /**
@@ -163,42 +233,80 @@ public class Profile {
    * object.
    */
   public Object object(Shortcut shortcut) {
-    return map.get(shortcut) == null ? null : map.get(shortcut).object;
+    ObjectMethodTuple tuple = map().get(shortcut);
+    return tuple == null ? null : tuple.object == null ? grabber : tuple.object;
   }
 
   /**
    * Main class method to be called from
    * {@link Grabber#performInteraction(BogusEvent)}. Calls an action
    * handler if the {@link BogusEvent#shortcut()} is bound.
+   * <p>
+   * The action prototype (i.e., whether or not it takes the grabber and the event as
+   * parameters) is resolved once, when the binding is set, so that the action is directly
+   * invoked with the right arguments.
    *
    * @see #setBinding(Shortcut, String)
    * @see #setBinding(Object, Shortcut, String)
    */
   public boolean handle(BogusEvent event) {
-    Method iHandlerMethod = method(event.shortcut());
-    if (iHandlerMethod != null) {
+    ObjectMethodTuple tuple = tuple(event);
+    return tuple != null && tuple.invoke(grabber, event);
+  }
+
+  /**
+   * Returns the binding of the {@code event} {@link BogusEvent#shortcut()}. The shortcut
+   * is not instantiated when the event defines it through its
+   * {@link BogusEvent#shortcutClass()} and {@link BogusEvent#shortcutData()}.
+   */
+  protected ObjectMethodTuple tuple(BogusEvent event) {
+    if (!isShortcutPackable(event))
+      return map().get(event.shortcut());
+    // shared bindings may also be (deterministically) updated here
+    ShortcutMap<ObjectMethodTuple> table = bindings.table;
+    if (!bindings.tableUpdated) {
+      table.clear();
+      for (Entry<Shortcut, ObjectMethodTuple> entry : map().entrySet())
+        if (isShortcutPackable(entry.getKey().getClass()))
+          table.put(entry.getKey().getClass(), entry.getKey().modifiers(), entry.getKey().id(),
+              entry.getKey().data(), entry.getValue());
+      bindings.tableUpdated = true;
+    }
+    return table.get(event.shortcutClass(), event.modifiers(), event.id(), event.shortcutData());
+  }
+
+  // event classes whose shortcut may be packed, see isShortcutPackable(); queried from
+  // any thread feeding events (see InputHandler#enableConcurrentEventQueue())
+  private static Map<Class<?>, Boolean> packableEvents = new ConcurrentHashMap<Class<?>, Boolean>();
+
+  /**
+   * Returns {@code true} if the {@code event} shortcut may be packed as a primitive key,
+   * i.e., if it's one of the bias shortcut classes (whose state is fully defined by their
+   * modifiers, id and data) and the event doesn't override {@link BogusEvent#shortcut()}
+   * without also overriding {@link BogusEvent#shortcutClass()} and
+   * {@link BogusEvent#shortcutData()}. Results are cached per event class.
+   */
+  protected static boolean isShortcutPackable(BogusEvent event) {
+    Boolean result = packableEvents.get(event.getClass());
+    if (result == null) {
       try {
-        if (object(event.shortcut()) == grabber)
-          iHandlerMethod.invoke(object(event.shortcut()), new Object[]{event});
-        else
-          iHandlerMethod.invoke(object(event.shortcut()), new Object[]{grabber, event});
-        return true;
+        Class<?> shortcut = event.getClass().getMethod("shortcut").getDeclaringClass();
+        result = shortcut.isAssignableFrom(event.getClass().getMethod("shortcutClass").getDeclaringClass())
+            && shortcut.isAssignableFrom(event.getClass().getMethod("shortcutData").getDeclaringClass());
       } catch (Exception e) {
-        try {
-          if (object(event.shortcut()) == grabber)
-            iHandlerMethod.invoke(object(event.shortcut()), new Object[]{});
-          else
-            iHandlerMethod.invoke(object(event.shortcut()), new Object[]{grabber});
-          return true;
-        } catch (Exception empty) {
-          System.out.println("Something went wrong when invoking your " + iHandlerMethod.getName() + " method");
-          empty.printStackTrace();
-        }
-        System.out.println("Something went wrong when invoking your " + iHandlerMethod.getName() + " method");
-        e.printStackTrace();
+        result = false;
       }
+      packableEvents.put(event.getClass(), result);
     }
-    return false;
+    return result && isShortcutPackable(event.shortcutClass());
+  }
+
+  /**
+   * Returns {@code true} if {@code cls} is one of the bias shortcut classes.
+   */
+  protected static boolean isShortcutPackable(Class<?> cls) {
+    return cls == Shortcut.class || cls == MotionShortcut.class || cls == ClickShortcut.class
+        || cls == KeyboardShortcut.class;
   }
 
   /**
@@ -292,7 +400,8 @@ public class Profile {
         }
       }
       if (method != null) {
-        map.put(shortcut, new ObjectMethodTuple(context, method));
+        fork();
+        map().put(shortcut, new ObjectMethodTuple(context, method));
         return true;
       }
     }
@@ -325,7 +434,8 @@ public class Profile {
       }
     }
     if (method != null) {
-      map.put(shortcut, new ObjectMethodTuple(grabber, method));
+      fork();
+      map().put(shortcut, new ObjectMethodTuple(null, method));
       return true;
     }
     return false;
@@ -395,7 +505,8 @@ public class Profile {
       }
     }
     if (method != null) {
-      map.put(shortcut, new ObjectMethodTuple(object, method));
+      fork();
+      map().put(shortcut, new ObjectMethodTuple(object, method));
       return true;
     }
     return false;
@@ -447,21 +558,24 @@ public class Profile {
    * @param shortcut {@link Shortcut}
    */
   public void removeBinding(Shortcut shortcut) {
-    map.remove(shortcut);
+    fork();
+    map().remove(shortcut);
   }
 
   /**
    * Removes all the shortcuts from this object.
    */
   public void removeBindings() {
-    map.clear();
+    fork();
+    map().clear();
   }
 
   /**
    * Removes all the shortcuts from the given shortcut class.
    */
   public void removeBindings(Class<? extends Shortcut> cls) {
-    Iterator<Entry<Shortcut, ObjectMethodTuple>> it = map.entrySet().iterator();
+    fork();
+    Iterator<Entry<Shortcut, ObjectMethodTuple>> it = map().entrySet().iterator();
     while (it.hasNext()) {
       Map.Entry<Shortcut, ObjectMethodTuple> pair = it.next();
       if (cls.equals(pair.getKey().getClass()))
@@ -491,7 +605,7 @@ public class Profile {
    */
   protected HashMap<Shortcut, ObjectMethodTuple> map(Class<? extends Shortcut> cls) {
     HashMap<Shortcut, ObjectMethodTuple> result = new HashMap<Shortcut, ObjectMethodTuple>();
-    for (Entry<Shortcut, ObjectMethodTuple> entry : map.entrySet())
+    for (Entry<Shortcut, ObjectMethodTuple> entry : map().entrySet())
       if (entry.getKey() != null && entry.getValue() != null)
         if (cls.equals(entry.getKey().getClass()))
           result.put(entry.getKey(), entry.getValue());
@@ -504,7 +618,7 @@ public class Profile {
   public String info() {
     // 1. Shortcut class list
     ArrayList<Class<? extends Shortcut>> list = new ArrayList<Class<? extends Shortcut>>();
-    for (Shortcut s : map.keySet())
+    for (Shortcut s : map().keySet())
       if (!list.contains(s.getClass()))
         list.add(s.getClass());
     // 2. Print info per Shortcut class
@@ -524,7 +638,18 @@ public class Profile {
    * @return true if this object contains a binding for the specified shortcut.
    */
   public boolean hasBinding(Shortcut shortcut) {
-    return map.containsKey(shortcut);
+    return map().containsKey(shortcut);
+  }
+
+  /**
+   * Same as {@code return hasBinding(event.shortcut())}, but without instantiating the
+   * event shortcut (see {@link BogusEvent#shortcutClass()}).
+   *
+   * @param event {@link BogusEvent}
+   * @return true if this object contains a binding for the event shortcut.
+   */
+  public boolean hasBinding(BogusEvent event) {
+    return tuple(event) != null;
   }
 
   /**
@@ -535,8 +660,8 @@ public class Profile {
    * @return true if this object maps one or more shortcuts to the specified action.
    */
   public boolean isActionBound(String action) {
-    for (ObjectMethodTuple tuple : map.values()) {
-      if (grabber == tuple.object && tuple.method.getName().equals(action))
+    for (ObjectMethodTuple tuple : map().values()) {
+      if (tuple.object == null && tuple.method.getName().equals(action))
         return true;
     }
     return false;
@@ -562,6 +687,9 @@ public class Profile {
    * @return true if this object maps one or more shortcuts to the specified action.
    */
   protected boolean isMethodBound(Object object, Method method) {
-    return map.containsValue(new ObjectMethodTuple(object, method));
+    for (ObjectMethodTuple tuple : map().values())
+      if ((tuple.object == null ? grabber : tuple.object) == object && tuple.method.equals(method))
+        return true;
+    return false;
   }
 }
\ No newline at end of file
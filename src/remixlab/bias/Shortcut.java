@@ -216,6 +216,18 @@ public class Shortcut {
     return id;
   }
 
+  /**
+   * Returns the shortcut state other than its {@link #modifiers()} and {@link #id()},
+   * e.g., the number of clicks of a {@link remixlab.bias.event.ClickShortcut}. It's used
+   * (together with the shortcut class, its {@link #modifiers()} and {@link #id()}) to pack
+   * the shortcut as a primitive key.
+   *
+   * @see BogusEvent#shortcutData()
+   */
+  public int data() {
+    return 0;
+  }
+
   /**
    * Returns the event class this shortcut is to be attached to. Should be non-null.
    *
@@ -0,0 +1,104 @@
+/**************************************************************************************
+ * bias_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+package remixlab.bias;
+
+import java.util.Arrays;
+
+/**
+ * Internal use. An open addressing (linear probing) hash map whose keys are shortcuts
+ * packed as primitives, i.e., their class, {@link Shortcut#modifiers()},
+ * {@link Shortcut#id()} and {@link Shortcut#data()}. Since a bogus-event provides the
+ * same data (see {@link BogusEvent#shortcutClass()} and
+ * {@link BogusEvent#shortcutData()}), the map may be queried without instantiating the
+ * event {@link BogusEvent#shortcut()}.
+ *
+ * @see Profile#handle(BogusEvent)
+ */
+class ShortcutMap<V> {
+  private Class<?>[] classes = new Class<?>[16];
+  private int[] keys = new int[3 * 16];
+  private Object[] values = new Object[16];
+  private int size;
+
+  /**
+   * Returns the number of entries.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Removes all the entries.
+   */
+  void clear() {
+    Arrays.fill(classes, null);
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /**
+   * Maps the shortcut packed as {@code (cls, modifiers, id, data)} to {@code value}.
+   */
+  void put(Class<?> cls, int modifiers, int id, int data, V value) {
+    // keep the load factor below 1/2
+    if (2 * (size + 1) > classes.length)
+      rehash(2 * classes.length);
+    int slot = slot(cls, modifiers, id, data);
+    if (classes[slot] == null) {
+      classes[slot] = cls;
+      keys[3 * slot] = modifiers;
+      keys[3 * slot + 1] = id;
+      keys[3 * slot + 2] = data;
+      size++;
+    }
+    values[slot] = value;
+  }
+
+  /**
+   * Returns the value the shortcut packed as {@code (cls, modifiers, id, data)} is mapped
+   * to, or {@code null} if none.
+   */
+  @SuppressWarnings("unchecked")
+  V get(Class<?> cls, int modifiers, int id, int data) {
+    return (V) values[slot(cls, modifiers, id, data)];
+  }
+
+  /**
+   * Returns the slot holding the given key, or the empty slot where it should be put.
+   */
+  private int slot(Class<?> cls, int modifiers, int id, int data) {
+    int hash = System.identityHashCode(cls);
+    hash = 31 * hash + modifiers;
+    hash = 31 * hash + id;
+    hash = 31 * hash + data;
+    hash ^= hash >>> 16;
+    int mask = classes.length - 1;
+    int slot = hash & mask;
+    while (classes[slot] != null && (classes[slot] != cls || keys[3 * slot] != modifiers || keys[3 * slot + 1] != id
+        || keys[3 * slot + 2] != data))
+      slot = (slot + 1) & mask;
+    return slot;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void rehash(int capacity) {
+    Class<?>[] oldClasses = classes;
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    classes = new Class<?>[capacity];
+    keys = new int[3 * capacity];
+    values = new Object[capacity];
+    size = 0;
+    for (int i = 0; i < oldClasses.length; i++)
+      if (oldClasses[i] != null)
+        put(oldClasses[i], oldKeys[3 * i], oldKeys[3 * i + 1], oldKeys[3 * i + 2], (V) oldValues[i]);
+  }
+}
@@ -41,7 +41,7 @@ public class ClickEvent extends BogusEvent {
   }
 
   protected float x, y;
-  protected final int numberOfClicks;
+  protected int numberOfClicks;
 
   /**
    * Constructs a single click ClickEvent at the given position and from the given
@@ -104,6 +104,20 @@ public class ClickEvent extends BogusEvent {
     return new ClickEvent(this);
   }
 
+  /**
+   * Re-initializes this (recycled) event, as if it were constructed with
+   * {@link #ClickEvent(float, float, int, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public ClickEvent set(float x, float y, int modifiers, int b, int clicks) {
+    set(modifiers, b);
+    this.x = x;
+    this.y = y;
+    this.numberOfClicks = clicks;
+    return this;
+  }
+
   @Override
   public ClickEvent flush() {
     return (ClickEvent) super.flush();
@@ -119,6 +133,16 @@ public class ClickEvent extends BogusEvent {
     return new ClickShortcut(modifiers(), id(), clickCount());
   }
 
+  @Override
+  public Class<ClickShortcut> shortcutClass() {
+    return ClickShortcut.class;
+  }
+
+  @Override
+  public int shortcutData() {
+    return clickCount() <= 0 ? 1 : clickCount();
+  }
+
   /**
    * @return event x coordinate
    */
@@ -140,4 +140,9 @@ public class ClickShortcut extends Shortcut {
   public int clickCount() {
     return numberOfClicks;
   }
+
+  @Override
+  public int data() {
+    return numberOfClicks;
+  }
 }
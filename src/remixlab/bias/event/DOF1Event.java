@@ -123,6 +123,44 @@ public class DOF1Event extends MotionEvent {
     return new DOF1Event(this);
   }
 
+  /**
+   * Re-initializes this (recycled) event as a relative event, as if it were constructed
+   * with {@link #DOF1Event(DOF1Event, float, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public DOF1Event set(DOF1Event prevEvent, float x, int modifiers, int id) {
+    set(modifiers, id);
+    this.x = x;
+    this.dx = 0;
+    setPreviousEvent(prevEvent);
+    return this;
+  }
+
+  /**
+   * Re-initializes this (recycled) event as an absolute event, as if it were constructed
+   * with {@link #DOF1Event(float, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public DOF1Event set(float dx, int modifiers, int id) {
+    set(modifiers, id);
+    this.x = 0;
+    this.dx = dx;
+    return this;
+  }
+
+  /**
+   * Copies the {@code other} event into this one, including its {@link #timestamp()}.
+   * Returns this event.
+   */
+  public DOF1Event set(DOF1Event other) {
+    super.set(other);
+    this.x = other.x;
+    this.dx = other.dx;
+    return this;
+  }
+
   @Override
   public DOF1Event flush() {
     return (DOF1Event) super.flush();
@@ -176,6 +214,14 @@ public class DOF1Event extends MotionEvent {
         dx = dx * sens[0];
   }
 
+  @Override
+  public boolean coalesce(MotionEvent event) {
+    if (!super.coalesce(event))
+      return false;
+    dx += ((DOF1Event) event).dx;
+    return true;
+  }
+
   @Override
   public boolean isNull() {
     if (Util.zero(dx()))
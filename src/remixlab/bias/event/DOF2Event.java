@@ -137,6 +137,50 @@ public class DOF2Event extends MotionEvent {
     return new DOF2Event(this);
   }
 
+  /**
+   * Re-initializes this (recycled) event as a relative event, as if it were constructed
+   * with {@link #DOF2Event(DOF2Event, float, float, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public DOF2Event set(DOF2Event prevEvent, float x, float y, int modifiers, int id) {
+    set(modifiers, id);
+    this.x = x;
+    this.y = y;
+    this.dx = 0;
+    this.dy = 0;
+    setPreviousEvent(prevEvent);
+    return this;
+  }
+
+  /**
+   * Re-initializes this (recycled) event as an absolute event, as if it were constructed
+   * with {@link #DOF2Event(float, float, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public DOF2Event set(float dx, float dy, int modifiers, int id) {
+    set(modifiers, id);
+    this.x = 0;
+    this.y = 0;
+    this.dx = dx;
+    this.dy = dy;
+    return this;
+  }
+
+  /**
+   * Copies the {@code other} event into this one, including its {@link #timestamp()}.
+   * Returns this event.
+   */
+  public DOF2Event set(DOF2Event other) {
+    super.set(other);
+    this.x = other.x;
+    this.dx = other.dx;
+    this.y = other.y;
+    this.dy = other.dy;
+    return this;
+  }
+
   @Override
   public DOF2Event flush() {
     return (DOF2Event) super.flush();
@@ -214,6 +258,15 @@ public class DOF2Event extends MotionEvent {
       }
   }
 
+  @Override
+  public boolean coalesce(MotionEvent event) {
+    if (!super.coalesce(event))
+      return false;
+    dx += ((DOF2Event) event).dx;
+    dy += ((DOF2Event) event).dy;
+    return true;
+  }
+
   @Override
   public boolean isNull() {
     if (Util.zero(dx()) && Util.zero(dy()))
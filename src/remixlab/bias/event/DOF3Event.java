@@ -148,6 +148,56 @@ public class DOF3Event extends MotionEvent {
     return new DOF3Event(this);
   }
 
+  /**
+   * Re-initializes this (recycled) event as a relative event, as if it were constructed
+   * with {@link #DOF3Event(DOF3Event, float, float, float, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public DOF3Event set(DOF3Event prevEvent, float x, float y, float z, int modifiers, int id) {
+    set(modifiers, id);
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.dx = 0;
+    this.dy = 0;
+    this.dz = 0;
+    setPreviousEvent(prevEvent);
+    return this;
+  }
+
+  /**
+   * Re-initializes this (recycled) event as an absolute event, as if it were constructed
+   * with {@link #DOF3Event(float, float, float, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public DOF3Event set(float dx, float dy, float dz, int modifiers, int id) {
+    set(modifiers, id);
+    this.x = 0;
+    this.y = 0;
+    this.z = 0;
+    this.dx = dx;
+    this.dy = dy;
+    this.dz = dz;
+    return this;
+  }
+
+  /**
+   * Copies the {@code other} event into this one, including its {@link #timestamp()}.
+   * Returns this event.
+   */
+  public DOF3Event set(DOF3Event other) {
+    super.set(other);
+    this.x = other.x;
+    this.dx = other.dx;
+    this.y = other.y;
+    this.dy = other.dy;
+    this.z = other.z;
+    this.dz = other.dz;
+    return this;
+  }
+
   @Override
   public DOF3Event flush() {
     return (DOF3Event) super.flush();
@@ -249,6 +299,16 @@ public class DOF3Event extends MotionEvent {
       }
   }
 
+  @Override
+  public boolean coalesce(MotionEvent event) {
+    if (!super.coalesce(event))
+      return false;
+    dx += ((DOF3Event) event).dx;
+    dy += ((DOF3Event) event).dy;
+    dz += ((DOF3Event) event).dz;
+    return true;
+  }
+
   @Override
   public boolean isNull() {
     if (Util.zero(dx()) && Util.zero(dy()) && Util.zero(dz()))
@@ -184,6 +184,74 @@ public class DOF6Event extends MotionEvent {
     return new DOF6Event(this);
   }
 
+  /**
+   * Re-initializes this (recycled) event as a relative event, as if it were constructed
+   * with {@link #DOF6Event(DOF6Event, float, float, float, float, float, float, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public DOF6Event set(DOF6Event prevEvent, float x, float y, float z, float rx, float ry, float rz, int modifiers, int id) {
+    set(modifiers, id);
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.rx = rx;
+    this.ry = ry;
+    this.rz = rz;
+    this.dx = 0;
+    this.dy = 0;
+    this.dz = 0;
+    this.drx = 0;
+    this.dry = 0;
+    this.drz = 0;
+    setPreviousEvent(prevEvent);
+    return this;
+  }
+
+  /**
+   * Re-initializes this (recycled) event as an absolute event, as if it were constructed
+   * with {@link #DOF6Event(float, float, float, float, float, float, int, int)}. Returns this event.
+   *
+   * @see remixlab.bias.InputHandler#recycledEvent(Class)
+   */
+  public DOF6Event set(float dx, float dy, float dz, float drx, float dry, float drz, int modifiers, int id) {
+    set(modifiers, id);
+    this.x = 0;
+    this.y = 0;
+    this.z = 0;
+    this.rx = 0;
+    this.ry = 0;
+    this.rz = 0;
+    this.dx = dx;
+    this.dy = dy;
+    this.dz = dz;
+    this.drx = drx;
+    this.dry = dry;
+    this.drz = drz;
+    return this;
+  }
+
+  /**
+   * Copies the {@code other} event into this one, including its {@link #timestamp()}.
+   * Returns this event.
+   */
+  public DOF6Event set(DOF6Event other) {
+    super.set(other);
+    this.x = other.x;
+    this.dx = other.dx;
+    this.y = other.y;
+    this.dy = other.dy;
+    this.z = other.z;
+    this.dz = other.dz;
+    this.rx = other.rx;
+    this.drx = other.drx;
+    this.ry = other.ry;
+    this.dry = other.dry;
+    this.rz = other.rz;
+    this.drz = other.drz;
+    return this;
+  }
+
   @Override
   public DOF6Event flush() {
     return (DOF6Event) super.flush();
@@ -376,6 +444,19 @@ public class DOF6Event extends MotionEvent {
       }
   }
 
+  @Override
+  public boolean coalesce(MotionEvent event) {
+    if (!super.coalesce(event))
+      return false;
+    dx += ((DOF6Event) event).dx;
+    dy += ((DOF6Event) event).dy;
+    dz += ((DOF6Event) event).dz;
+    drx += ((DOF6Event) event).drx;
+    dry += ((DOF6Event) event).dry;
+    drz += ((DOF6Event) event).drz;
+    return true;
+  }
+
   @Override
   public boolean isNull() {
     if (Util.zero(dx()) && Util.zero(dy()) && Util.zero(dz()) && Util.zero(drx()) && Util.zero(dry()) && Util.zero(drz()))
@@ -83,6 +83,16 @@ public class KeyboardEvent extends BogusEvent {
       return new KeyboardShortcut(key());
   }
 
+  @Override
+  public Class<KeyboardShortcut> shortcutClass() {
+    return KeyboardShortcut.class;
+  }
+
+  @Override
+  public int shortcutData() {
+    return key;
+  }
+
   public char key() {
     return key;
   }
@@ -110,4 +110,9 @@ public final class KeyboardShortcut extends Shortcut {
   public char getKey() {
     return key;
   }
+
+  @Override
+  public int data() {
+    return key;
+  }
 }
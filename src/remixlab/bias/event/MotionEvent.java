@@ -88,6 +88,27 @@ public class MotionEvent extends BogusEvent {
     return new MotionEvent(this);
   }
 
+  @Override
+  protected void set(int modifiers, int id) {
+    super.set(modifiers, id);
+    delay = 0;
+    distance = 0;
+    speed = 0;
+    rel = false;
+  }
+
+  /**
+   * Copies the {@code other} event state into this one. Used by the {@code set()}
+   * methods of derived classes.
+   */
+  protected void set(MotionEvent other) {
+    super.set(other);
+    this.delay = other.delay;
+    this.distance = other.distance;
+    this.speed = other.speed;
+    this.rel = other.rel;
+  }
+
   @Override
   public MotionEvent flush() {
     return (MotionEvent) super.flush();
@@ -110,6 +131,16 @@ public class MotionEvent extends BogusEvent {
     return new MotionShortcut(modifiers(), id());
   }
 
+  @Override
+  public Class<MotionShortcut> shortcutClass() {
+    return MotionShortcut.class;
+  }
+
+  @Override
+  public int shortcutData() {
+    return 0;
+  }
+
   /**
    * Returns the delay between two consecutive motion events. Meaningful only if the event
    * {@link #isRelative()}.
@@ -151,6 +182,30 @@ public class MotionEvent extends BogusEvent {
     return !isRelative();
   }
 
+  /**
+   * Accumulates the {@code event} (which should immediately precede this one) into this
+   * event, so that performing this event alone has the same effect as performing both of
+   * them. Only relative events of the same class, {@link #modifiers()} and {@link #id()}
+   * (i.e., having the same {@link #shortcut()}) which are neither {@link #fired()} nor
+   * {@link #flushed()} may be accumulated. Returns {@code true} if succeeded and
+   * {@code false} otherwise.
+   * <p>
+   * Derived classes should call {@code super.coalesce(event)} and then accumulate their
+   * own dofs' displacements.
+   *
+   * @see remixlab.bias.InputHandler#enableEventCoalescing()
+   */
+  public boolean coalesce(MotionEvent event) {
+    if (event == null || event.getClass() != getClass() || event.modifiers() != modifiers() || event.id() != id())
+      return false;
+    if (isAbsolute() || event.isAbsolute() || fired() || flushed() || event.fired() || event.flushed())
+      return false;
+    distance += event.distance;
+    delay += event.delay;
+    speed = delay == 0 ? distance : distance / (float) delay;
+    return true;
+  }
+
   /**
    * Sets the event's previous event to build a relative event.
    */
@@ -24,10 +24,9 @@ import remixlab.fpstiming.TimingHandler;
 import remixlab.fpstiming.TimingTask;
 import sun.net.www.content.text.Generic;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * A 2D or 3D {@link Grabber} scene.
@@ -140,6 +139,38 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
   }
 
   protected List<GenericFrame> seeds;
+  // identity membership of the seeds (Frame.equals() compares values)
+  protected Set<GenericFrame> seedSet;
+
+  // flattened depth-first traversal order of the frame tree, see updateTraversal()
+  protected long treeVersion;
+  private long traversalVersion = -1;
+  private int traversalSize;
+  private GenericFrame[] traversal = new GenericFrame[16];
+  private int[] traversalParent = new int[16];
+  private int[] traversalEnd = new int[16];
+  private int[] traversalDepth = new int[16];
+
+  // precomputed world matrices (one 16 float block per traversal index)
+  protected static final int WORLD_MATRIX_THRESHOLD = 1024;
+  private static ForkJoinPool worldMatrixPool;
+  private boolean parallelTransformations;
+  private float[] worldMatrices = new float[0];
+  private Mat worldMatrix = new Mat();
+
+  // subtree world bounds in traversal order (min xyz, max xyz), see updateBounds()
+  private boolean frustumCulling;
+  protected long boundsVersion;
+  private long boundsCheck = -1, boundsTreeCheck = -1, boundsVersionCheck = -1;
+  private float[] subtreeBounds = new float[0];
+  private boolean[] subtreeBounded = new boolean[0];
+  private Vec boundsP1 = new Vec(), boundsP2 = new Vec();
+
+  // spatial index of the frames, see frameIndex()
+  protected FrameIndex frameIndex;
+
+  // screen-space picking grids, see pickingCandidates()
+  protected Map<Agent, PickingGrid> pickingGrids = new IdentityHashMap<Agent, PickingGrid>();
 
   // iFrames
   public int nodeCount;
@@ -179,6 +210,7 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
    */
   public AbstractScene() {
     seeds = new ArrayList<GenericFrame>();
+    seedSet = Collections.newSetFromMap(new IdentityHashMap<GenericFrame, Boolean>());
     solvers = new ArrayList<Solver.TreeSolver>();
     setPlatform();
     setTimingHandler(new TimingHandler(this));
@@ -205,13 +237,10 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
   }
 
   /**
-   * Returns {@code true} if the frame is top-level.
+   * Returns {@code true} if the frame is top-level. Takes constant time.
    */
   protected boolean isLeadingFrame(GenericFrame gFrame) {
-    for (GenericFrame frame : leadingFrames())
-      if (frame == gFrame)
-        return true;
-    return false;
+    return seedSet.contains(gFrame);
   }
 
   /**
@@ -220,8 +249,9 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
   protected boolean addLeadingFrame(GenericFrame gFrame) {
     if (gFrame == null || gFrame.referenceFrame() != null)
       return false;
-    if (isLeadingFrame(gFrame))
+    if (!seedSet.add(gFrame))
       return false;
+    modifiedTree();
     return leadingFrames().add(gFrame);
   }
 
@@ -229,16 +259,81 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
    * Removes the leading frame if present. Typically used when re-parenting the frame.
    */
   protected boolean removeLeadingFrame(GenericFrame iFrame) {
-    boolean result = false;
-    Iterator<GenericFrame> it = leadingFrames().iterator();
-    while (it.hasNext()) {
-      if (it.next() == iFrame) {
-        it.remove();
-        result = true;
-        break;
+    if (!seedSet.remove(iFrame))
+      return false;
+    removeIdentical(leadingFrames(), iFrame);
+    modifiedTree();
+    return true;
+  }
+
+  /**
+   * Internal use. Removes {@code frame} from {@code list} comparing by identity (note
+   * that {@link remixlab.dandelion.geom.Frame#equals(Object)} compares values). The list
+   * is scanned backwards since recently added frames are the most likely to be removed.
+   */
+  protected static boolean removeIdentical(List<GenericFrame> list, GenericFrame frame) {
+    for (int i = list.size() - 1; i >= 0; i--)
+      if (list.get(i) == frame) {
+        list.remove(i);
+        return true;
       }
+    return false;
+  }
+
+  /**
+   * Internal use. Automatically called when the frame hierarchy topology changes (i.e.,
+   * when a leading frame or a frame child is added or removed), so that the cached
+   * traversal order is rebuilt the next time it is needed.
+   *
+   * @see #traverseTree()
+   */
+  protected void modifiedTree() {
+    treeVersion++;
+  }
+
+  /**
+   * Internal use. Rebuilds the flattened (depth-first) traversal order of the frame tree,
+   * together with the parent index, subtree end (exclusive) index and depth of each
+   * frame, but only if the tree topology has changed since it was last built.
+   */
+  protected void updateTraversal() {
+    if (traversalVersion == treeVersion)
+      return;
+    for (int i = 0; i < traversalSize; i++)
+      traversal[i] = null;
+    traversalSize = 0;
+    for (GenericFrame frame : leadingFrames())
+      flatten(frame, -1, 0);
+    traversalVersion = treeVersion;
+  }
+
+  private void flatten(GenericFrame frame, int parent, int depth) {
+    if (traversalSize == traversal.length) {
+      int capacity = 2 * traversalSize;
+      traversal = Arrays.copyOf(traversal, capacity);
+      traversalParent = Arrays.copyOf(traversalParent, capacity);
+      traversalEnd = Arrays.copyOf(traversalEnd, capacity);
+      traversalDepth = Arrays.copyOf(traversalDepth, capacity);
     }
-    return result;
+    int index = traversalSize++;
+    traversal[index] = frame;
+    traversalParent[index] = parent;
+    traversalDepth[index] = depth;
+    frame.treeIndex = index;
+    for (GenericFrame child : frame.children())
+      flatten(child, index, depth + 1);
+    traversalEnd[index] = traversalSize;
+  }
+
+  /**
+   * Returns the index of {@code frame} in the flattened traversal order, or -1 if it's
+   * not reachable. Call {@link #updateTraversal()} first.
+   */
+  private int traversalIndex(GenericFrame frame) {
+    if (frame == null)
+      return -1;
+    int index = frame.treeIndex;
+    return index >= 0 && index < traversalSize && traversal[index] == frame ? index : -1;
   }
 
   /**
@@ -248,6 +343,12 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
    * <p>
    * Note that only reachable frames are visited by this algorithm.
    * <p>
+   * The frames are visited in depth-first order by a linear scan over a flattened copy of
+   * the frame tree, which is only rebuilt when the tree topology changes. Each frame is
+   * entered with {@link #enterFrame(GenericFrame)} and exited (once all its descendants
+   * have been visited) with {@link #exitFrame(GenericFrame)}. Branches outside the eye
+   * boundary are skipped when {@link #isFrustumCullingEnabled()}.
+   * <p>
    * <b>Attention:</b> this method should be called after {@link #bindMatrices()} (i.e.,
    * eye update) and before any other transformation of the modelview takes place.
    *
@@ -255,30 +356,473 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
    * @see #pruneBranch(GenericFrame)
    */
   public void traverseTree() {
-    for (GenericFrame frame : leadingFrames())
-      visitFrame(frame);
+    updateTraversal();
+    boolean parallel = areParallelTransformationsEnabled();
+    boolean culling = isFrustumCullingEnabled() && areBoundaryEquationsEnabled();
+    boolean stale = culling && (boundsCheck != Frame.modifications() || boundsTreeCheck != treeVersion
+        || boundsVersionCheck != boundsVersion);
+    if (parallel || (culling && stale))
+      computeWorldMatrices();
+    if (culling && stale)
+      updateBounds();
+    int last = -1;
+    // frames before visibleEnd belong to a subtree known to be entirely visible
+    int visibleEnd = 0;
+    for (int i = 0; i < traversalSize; i++) {
+      if (culling && i >= visibleEnd && subtreeBounded[i]) {
+        Eye.Visibility visibility = subtreeVisibility(i);
+        if (visibility == Eye.Visibility.INVISIBLE) {
+          i = traversalEnd[i] - 1;
+          continue;
+        }
+        if (visibility == Eye.Visibility.VISIBLE)
+          visibleEnd = traversalEnd[i];
+      }
+      if (parallel) {
+        System.arraycopy(worldMatrices, 16 * i, worldMatrix.mat, 0, 16);
+        enterFrame(traversal[i], worldMatrix);
+        exitFrame(traversal[i]);
+      } else {
+        exitFrames(last, traversalDepth[i]);
+        enterFrame(traversal[i]);
+        last = i;
+      }
+    }
+    exitFrames(last, 0);
   }
 
   /**
-   * Used by the traverse frame tree algorithm.
+   * Exits the {@code last} visited frame and its ancestors down to (and including) the
+   * ones at {@code depth}.
    */
+  private void exitFrames(int last, int depth) {
+    while (last != -1 && traversalDepth[last] >= depth) {
+      exitFrame(traversal[last]);
+      last = traversalParent[last];
+    }
+  }
+
+  /**
+   * Recursively visits {@code frame} and its descendants.
+   *
+   * @deprecated {@link #traverseTree()} no longer calls this method, so overriding it has
+   * no effect. Override {@link #enterFrame(GenericFrame)} and
+   * {@link #exitFrame(GenericFrame)} instead, which are called on each visited frame.
+   */
+  @Deprecated
   protected void visitFrame(GenericFrame frame) {
+    enterFrame(frame);
+    for (GenericFrame child : frame.children())
+      visitFrame(child);
+    exitFrame(frame);
+  }
+
+  /**
+   * Used by the traverse frame tree algorithm. Pushes the modelview, applies the
+   * {@code frame} local transformation and calls
+   * {@link remixlab.dandelion.core.GenericFrame#visitCallback()} on it.
+   *
+   * @see #exitFrame(GenericFrame)
+   */
+  protected void enterFrame(GenericFrame frame) {
     pushModelView();
     applyTransformation(frame);
     frame.visitCallback();
-    for (GenericFrame child : frame.children())
-      visitFrame(child);
+  }
+
+  /**
+   * Used by the traverse frame tree algorithm when
+   * {@link #areParallelTransformationsEnabled()}. Pushes the modelview, applies the
+   * (precomputed) {@code frame} world transformation matrix and calls
+   * {@link remixlab.dandelion.core.GenericFrame#visitCallback()} on it. Note that
+   * {@code world} is reused among calls and should not be kept.
+   *
+   * @see #exitFrame(GenericFrame)
+   * @see #computeWorldMatrices()
+   */
+  protected void enterFrame(GenericFrame frame, Mat world) {
+    pushModelView();
+    applyModelView(world);
+    frame.visitCallback();
+  }
+
+  /**
+   * Used by the traverse frame tree algorithm. Pops the modelview, once all
+   * {@code frame} descendants have been visited.
+   *
+   * @see #enterFrame(GenericFrame)
+   */
+  protected void exitFrame(GenericFrame frame) {
     popModelView();
   }
 
+  /**
+   * Returns {@code true} if {@link #traverseTree()} first computes the world matrices of
+   * all the reachable frames in parallel (see {@link #computeWorldMatrices()}), and then
+   * only loads them while visiting the frames. Disabled by default.
+   *
+   * @see #enableParallelTransformations()
+   * @see #disableParallelTransformations()
+   * @see #toggleParallelTransformations()
+   */
+  public boolean areParallelTransformationsEnabled() {
+    return parallelTransformations;
+  }
+
+  /**
+   * Toggles the parallel world matrices computation.
+   *
+   * @see #areParallelTransformationsEnabled()
+   */
+  public void toggleParallelTransformations() {
+    enableParallelTransformations(!areParallelTransformationsEnabled());
+  }
+
+  /**
+   * Disables the parallel world matrices computation.
+   *
+   * @see #areParallelTransformationsEnabled()
+   */
+  public void disableParallelTransformations() {
+    enableParallelTransformations(false);
+  }
+
+  /**
+   * Enables the parallel world matrices computation.
+   *
+   * @see #areParallelTransformationsEnabled()
+   */
+  public void enableParallelTransformations() {
+    enableParallelTransformations(true);
+  }
+
+  /**
+   * Enables or disables the parallel world matrices computation according to
+   * {@code flag}.
+   *
+   * @see #areParallelTransformationsEnabled()
+   */
+  public void enableParallelTransformations(boolean flag) {
+    parallelTransformations = flag;
+  }
+
+  /**
+   * Computes the world matrix of every reachable frame, storing them in traversal order.
+   * Called by {@link #traverseTree()} when {@link #areParallelTransformationsEnabled()}.
+   * <p>
+   * Subtrees having more than {@code WORLD_MATRIX_THRESHOLD} frames are computed in
+   * parallel by a (shared) {@code ForkJoinPool}, while smaller ones are computed
+   * sequentially. Frames should not be modified while the computation takes place.
+   */
+  protected void computeWorldMatrices() {
+    updateTraversal();
+    if (worldMatrices.length < 16 * traversalSize)
+      worldMatrices = new float[16 * Math.max(traversalSize, 2 * worldMatrices.length / 16)];
+    if (!areParallelTransformationsEnabled() || traversalSize <= WORLD_MATRIX_THRESHOLD) {
+      computeWorldMatrices(0, traversalSize);
+      return;
+    }
+    synchronized (AbstractScene.class) {
+      if (worldMatrixPool == null)
+        worldMatrixPool = new ForkJoinPool();
+    }
+    worldMatrixPool.invoke(new WorldMatrixTask(-1));
+  }
+
+  /**
+   * Sequentially computes the world matrices of the frames in the [{@code from},
+   * {@code to}) traversal range. The parent world matrix of the range frames (if any)
+   * should have been computed before.
+   */
+  private void computeWorldMatrices(int from, int to) {
+    for (int i = from; i < to; i++) {
+      Frame frame = traversal[i];
+      float[] w = worldMatrices;
+      int o = 16 * i;
+      float s = frame.scaling();
+      Vec t = frame.translation();
+      // local matrix = translation * rotation * scaling (column-major)
+      float l0, l1, l2, l4, l5, l6, l8, l9, l10;
+      if (frame.rotation() instanceof Quat) {
+        float[] q = ((Quat) frame.rotation()).quat;
+        l0 = s * (1 - 2 * (q[1] * q[1] + q[2] * q[2]));
+        l1 = s * 2 * (q[0] * q[1] + q[2] * q[3]);
+        l2 = s * 2 * (q[0] * q[2] - q[1] * q[3]);
+        l4 = s * 2 * (q[0] * q[1] - q[2] * q[3]);
+        l5 = s * (1 - 2 * (q[0] * q[0] + q[2] * q[2]));
+        l6 = s * 2 * (q[1] * q[2] + q[0] * q[3]);
+        l8 = s * 2 * (q[0] * q[2] + q[1] * q[3]);
+        l9 = s * 2 * (q[1] * q[2] - q[0] * q[3]);
+        l10 = s * (1 - 2 * (q[0] * q[0] + q[1] * q[1]));
+      } else {
+        float angle = frame.rotation().angle();
+        float cos = (float) Math.cos(angle);
+        float sin = (float) Math.sin(angle);
+        l0 = s * cos;
+        l1 = s * sin;
+        l2 = 0;
+        l4 = -s * sin;
+        l5 = s * cos;
+        l6 = 0;
+        l8 = 0;
+        l9 = 0;
+        l10 = s;
+      }
+      int p = traversalParent[i];
+      if (p == -1) {
+        w[o] = l0;
+        w[o + 1] = l1;
+        w[o + 2] = l2;
+        w[o + 4] = l4;
+        w[o + 5] = l5;
+        w[o + 6] = l6;
+        w[o + 8] = l8;
+        w[o + 9] = l9;
+        w[o + 10] = l10;
+        w[o + 12] = t.vec[0];
+        w[o + 13] = t.vec[1];
+        w[o + 14] = t.vec[2];
+      } else {
+        // world = parent world * local, both affine
+        int po = 16 * p;
+        for (int r = 0; r < 3; r++) {
+          float a0 = w[po + r], a4 = w[po + 4 + r], a8 = w[po + 8 + r];
+          w[o + r] = a0 * l0 + a4 * l1 + a8 * l2;
+          w[o + 4 + r] = a0 * l4 + a4 * l5 + a8 * l6;
+          w[o + 8 + r] = a0 * l8 + a4 * l9 + a8 * l10;
+          w[o + 12 + r] = a0 * t.vec[0] + a4 * t.vec[1] + a8 * t.vec[2] + w[po + 12 + r];
+        }
+      }
+      w[o + 3] = 0;
+      w[o + 7] = 0;
+      w[o + 11] = 0;
+      w[o + 15] = 1;
+    }
+  }
+
+  /**
+   * Computes the world matrix of the frame at {@code index} (the virtual root of all the
+   * leading frames when it's -1) and then those of its descendants: subtrees larger than
+   * {@code WORLD_MATRIX_THRESHOLD} are forked, while the others are computed in place.
+   */
+  private class WorldMatrixTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    int index;
+
+    WorldMatrixTask(int i) {
+      index = i;
+    }
+
+    @Override
+    protected void compute() {
+      int end = traversalSize;
+      if (index != -1) {
+        computeWorldMatrices(index, index + 1);
+        end = traversalEnd[index];
+      }
+      List<WorldMatrixTask> tasks = null;
+      for (int child = index + 1; child < end; child = traversalEnd[child]) {
+        if (traversalEnd[child] - child > WORLD_MATRIX_THRESHOLD) {
+          if (tasks == null)
+            tasks = new ArrayList<WorldMatrixTask>();
+          tasks.add(new WorldMatrixTask(child));
+        } else
+          computeWorldMatrices(child, traversalEnd[child]);
+      }
+      if (tasks != null)
+        invokeAll(tasks);
+    }
+  }
+
+  /**
+   * Returns {@code true} if {@link #traverseTree()} skips the branches whose bounds (see
+   * {@link remixlab.dandelion.core.GenericFrame#setBounds(Vec, Vec)}) are outside the
+   * {@link #eye()} boundary. Branches entirely inside the boundary are visited without
+   * testing their descendants. Disabled by default.
+   * <p>
+   * Culling requires the boundary equations to be updated every frame (see
+   * {@link #enableBoundaryEquations()}), which is done by
+   * {@link #enableFrustumCulling()}.
+   *
+   * @see #enableFrustumCulling()
+   * @see #disableFrustumCulling()
+   * @see #toggleFrustumCulling()
+   */
+  public boolean isFrustumCullingEnabled() {
+    return frustumCulling;
+  }
+
+  /**
+   * Toggles the {@link #traverseTree()} frustum culling.
+   *
+   * @see #isFrustumCullingEnabled()
+   */
+  public void toggleFrustumCulling() {
+    enableFrustumCulling(!isFrustumCullingEnabled());
+  }
+
+  /**
+   * Disables the {@link #traverseTree()} frustum culling.
+   *
+   * @see #isFrustumCullingEnabled()
+   */
+  public void disableFrustumCulling() {
+    enableFrustumCulling(false);
+  }
+
+  /**
+   * Enables the {@link #traverseTree()} frustum culling.
+   *
+   * @see #isFrustumCullingEnabled()
+   */
+  public void enableFrustumCulling() {
+    enableFrustumCulling(true);
+  }
+
+  /**
+   * Enables or disables the {@link #traverseTree()} frustum culling according to
+   * {@code flag}. Enabling it also enables the boundary equations.
+   *
+   * @see #isFrustumCullingEnabled()
+   * @see #enableBoundaryEquations()
+   */
+  public void enableFrustumCulling(boolean flag) {
+    frustumCulling = flag;
+    if (flag)
+      enableBoundaryEquations();
+  }
+
+  /**
+   * Internal use. Automatically called when the {@code frame} bounds are set or reset.
+   *
+   * @see remixlab.dandelion.core.GenericFrame#setBounds(Vec, Vec)
+   */
+  protected void modifiedBounds(GenericFrame frame) {
+    boundsVersion++;
+    if (frameIndex != null)
+      frameIndex.modified(frame);
+  }
+
+  /**
+   * Internal use. Computes the world (axis-aligned) bounds of every reachable frame
+   * subtree, by merging the frame world bounds with those of its children subtrees in a
+   * single backwards pass over the traversal order. The world matrices should be
+   * computed first (see {@link #computeWorldMatrices()}).
+   */
+  protected void updateBounds() {
+    if (subtreeBounded.length < traversalSize) {
+      subtreeBounded = new boolean[traversal.length];
+      subtreeBounds = new float[6 * traversal.length];
+    }
+    float[] b = subtreeBounds;
+    float[] w = worldMatrices;
+    for (int i = 0; i < traversalSize; i++) {
+      GenericFrame frame = traversal[i];
+      subtreeBounded[i] = frame.hasBounds();
+      if (!frame.hasBounds())
+        continue;
+      // box center and half extents, mapped by the world matrix
+      float cx = (frame.boundsMin.vec[0] + frame.boundsMax.vec[0]) / 2;
+      float cy = (frame.boundsMin.vec[1] + frame.boundsMax.vec[1]) / 2;
+      float cz = (frame.boundsMin.vec[2] + frame.boundsMax.vec[2]) / 2;
+      float ex = (frame.boundsMax.vec[0] - frame.boundsMin.vec[0]) / 2;
+      float ey = (frame.boundsMax.vec[1] - frame.boundsMin.vec[1]) / 2;
+      float ez = (frame.boundsMax.vec[2] - frame.boundsMin.vec[2]) / 2;
+      int o = 16 * i;
+      for (int r = 0; r < 3; r++) {
+        float c = w[o + r] * cx + w[o + 4 + r] * cy + w[o + 8 + r] * cz + w[o + 12 + r];
+        float e = Math.abs(w[o + r]) * ex + Math.abs(w[o + 4 + r]) * ey + Math.abs(w[o + 8 + r]) * ez;
+        b[6 * i + r] = c - e;
+        b[6 * i + 3 + r] = c + e;
+      }
+    }
+    for (int i = traversalSize - 1; i >= 0; i--) {
+      int p = traversalParent[i];
+      if (p == -1 || !subtreeBounded[p])
+        continue;
+      if (!subtreeBounded[i]) {
+        subtreeBounded[p] = false;
+        continue;
+      }
+      for (int r = 0; r < 3; r++) {
+        b[6 * p + r] = Math.min(b[6 * p + r], b[6 * i + r]);
+        b[6 * p + 3 + r] = Math.max(b[6 * p + 3 + r], b[6 * i + 3 + r]);
+      }
+    }
+    boundsCheck = Frame.modifications();
+    boundsTreeCheck = treeVersion;
+    boundsVersionCheck = boundsVersion;
+  }
+
+  /**
+   * Returns the {@link #eye()} visibility of the bounds of the frame subtree at the given
+   * traversal {@code index}.
+   */
+  private Eye.Visibility subtreeVisibility(int index) {
+    boundsP1.set(subtreeBounds[6 * index], subtreeBounds[6 * index + 1], subtreeBounds[6 * index + 2]);
+    boundsP2.set(subtreeBounds[6 * index + 3], subtreeBounds[6 * index + 4], subtreeBounds[6 * index + 5]);
+    return eye().boxVisibility(boundsP1, boundsP2);
+  }
+
+  /**
+   * Returns the {@code agent} grabbers that may grab input from the given pointer
+   * {@code event}, in {@link Agent#grabbers()} order. Meant to implement
+   * {@link Agent#candidateGrabbers(BogusEvent)} in pointer agents, so that only the
+   * frames lying around the pointer position are queried when picking.
+   * <p>
+   * The frames having the default picking condition (see
+   * {@link GenericFrame#hasDefaultPickingCondition()}) are bucketed by their projected
+   * position in a per-agent {@link PickingGrid}, which is built (at most) once per frame.
+   * Events without a pointer position (i.e., other than a {@link ClickEvent}, a
+   * {@link DOF2Event}, a {@link DOF3Event} or a {@link DOF6Event}) return all the
+   * {@link Agent#grabbers()}.
+   */
+  public List<Grabber> pickingCandidates(Agent agent, BogusEvent event) {
+    float x, y;
+    // same reductions as those of GenericFrame.checkIfGrabsInput
+    if (event instanceof DOF6Event)
+      event = ((DOF6Event) event).dof3Event();
+    if (event instanceof DOF3Event)
+      event = ((DOF3Event) event).dof2Event();
+    if (event instanceof ClickEvent) {
+      x = ((ClickEvent) event).x();
+      y = ((ClickEvent) event).y();
+    } else if (event instanceof DOF2Event) {
+      x = ((DOF2Event) event).x();
+      y = ((DOF2Event) event).y();
+    } else
+      return agent.grabbers();
+    PickingGrid grid = pickingGrids.get(agent);
+    if (grid == null) {
+      grid = new PickingGrid(this, agent);
+      pickingGrids.put(agent, grid);
+    }
+    return grid.candidates(x, y);
+  }
+
+  /**
+   * Returns the spatial index of the scene frames, which answers range, nearest neighbor
+   * and ray queries over the frame positions. The index is created the first time this
+   * method is called and is kept up-to-date with the frame modifications from then on.
+   *
+   * @see remixlab.dandelion.core.FrameIndex
+   */
+  public FrameIndex frameIndex() {
+    if (frameIndex == null)
+      frameIndex = new FrameIndex(this);
+    return frameIndex;
+  }
+
   /**
    * Same as {@code for(GenericFrame frame : leadingFrames()) pruneBranch(frame)}.
    *
    * @see #pruneBranch(GenericFrame)
    */
   public void clearTree() {
-    for (GenericFrame frame : leadingFrames())
-      pruneBranch(frame);
+    // backwards, so that each leading frame is removed from the end of the list
+    List<GenericFrame> frames = new ArrayList<GenericFrame>(leadingFrames());
+    for (int i = frames.size() - 1; i >= 0; i--)
+      pruneBranch(frames.get(i));
   }
 
   /**
@@ -315,12 +859,15 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
       return null;
     ArrayList<GenericFrame> list = new ArrayList<GenericFrame>();
     collectFrames(list, frame, true);
+    // only the branch root needs to be detached from a frame outside the branch: the
+    // children of all the other frames belong to the branch as well
+    if (frame.referenceFrame() != null)
+      frame.referenceFrame().removeChild(frame);
+    else
+      removeLeadingFrame(frame);
     for (GenericFrame gFrame : list) {
       inputHandler().removeGrabber(gFrame);
-      if (gFrame.referenceFrame() != null)
-        gFrame.referenceFrame().removeChild(gFrame);
-      else
-        removeLeadingFrame(gFrame);
+      gFrame.clearChildren();
     }
     return list;
   }
@@ -370,12 +917,22 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
    * @see remixlab.dandelion.core.GenericFrame#isEyeFrame()
    */
   public ArrayList<GenericFrame> frames(boolean eyeframes) {
-    ArrayList<GenericFrame> list = new ArrayList<GenericFrame>();
-    for (GenericFrame gFrame : leadingFrames())
-      collectFrames(list, gFrame, eyeframes);
+    updateTraversal();
+    ArrayList<GenericFrame> list = new ArrayList<GenericFrame>(traversalSize);
+    collectFrames(list, 0, traversalSize, eyeframes);
     return list;
   }
 
+  /**
+   * Collects the frames in the [{@code from}, {@code to}) range of the flattened traversal
+   * order (see {@link #updateTraversal()}).
+   */
+  private void collectFrames(List<GenericFrame> list, int from, int to, boolean eyeframes) {
+    for (int i = from; i < to; i++)
+      if (!traversal[i].isEyeFrame() || eyeframes)
+        list.add(traversal[i]);
+  }
+
   /**
    * Collects {@code frame} and all its descendant frames. When {@code eyeframes} is
    * {@code true} eye-frames will also be collected. Note that for a frame to be collected
@@ -385,7 +942,12 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
    */
   public ArrayList<GenericFrame> branch(GenericFrame frame, boolean eyeframes) {
     ArrayList<GenericFrame> list = new ArrayList<GenericFrame>();
-    collectFrames(list, frame, eyeframes);
+    updateTraversal();
+    int index = traversalIndex(frame);
+    if (index != -1)
+      collectFrames(list, index, traversalEnd[index], eyeframes);
+    else
+      collectFrames(list, frame, eyeframes);
     return list;
   }
 
@@ -400,12 +962,19 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
     ArrayList<GenericFrame> list = new ArrayList<GenericFrame>();
     //1. Check if tip is a tail descendant
     boolean desc = false;
-    ArrayList<GenericFrame> descList = branch(tail, eyeframes);
-    for(GenericFrame gFrame : descList)
-      if(gFrame == tip) {
-        desc = true;
-        break;
-      }
+    updateTraversal();
+    int tailIndex = traversalIndex(tail);
+    if (tailIndex != -1) {
+      int tipIndex = traversalIndex(tip);
+      desc = tipIndex >= tailIndex && tipIndex < traversalEnd[tailIndex];
+    } else {
+      ArrayList<GenericFrame> descList = branch(tail, eyeframes);
+      for(GenericFrame gFrame : descList)
+        if(gFrame == tip) {
+          desc = true;
+          break;
+        }
+    }
     //2. If so, return the path between the two
     if(desc) {
       GenericFrame _tip = tip;
@@ -1473,10 +2042,13 @@ public abstract class AbstractScene extends AnimatorObject implements Grabber {
   }
 
   protected void drawPickingTargets() {
-    for (GenericFrame frame : frames(false))
+    updateTraversal();
+    for (int i = 0; i < traversalSize; i++) {
+      GenericFrame frame = traversal[i];
       // if(inputHandler().hasGrabber(frame))
-      if (frame.isVisualHintEnabled())
+      if (!frame.isEyeFrame() && frame.isVisualHintEnabled())
         drawPickingTarget(frame);
+    }
   }
 
   /**
@@ -93,7 +93,7 @@ public abstract class Eye implements Copyable {
 
     @Override
     public void performInteraction(MotionEvent event) {
-      switch (event.shortcut().id()) {
+      switch (event.id()) {
         case LEFT_ID:
           rotate(event);
           break;
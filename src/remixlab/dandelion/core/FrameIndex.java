@@ -0,0 +1,440 @@
+/**************************************************************************************
+ * dandelion_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+package remixlab.dandelion.core;
+
+import remixlab.dandelion.geom.Vec;
+
+import java.util.*;
+
+/**
+ * A spatial index of the (reachable) scene frames, implemented as a loose octree in 3D
+ * and as a loose quadtree in 2D. It answers range ({@link #range(Vec, float)}), nearest
+ * neighbor ({@link #nearest(Vec, int)}) and ray ({@link #ray(Vec, Vec, float)}) queries
+ * without scanning the whole {@link AbstractScene#frames(boolean)} collection. Eye-frames
+ * are not indexed.
+ * <p>
+ * A frame is indexed as a point at its world {@link GenericFrame#position()}, unless it
+ * {@link GenericFrame#hasBounds()}, in which case it's indexed as the world ball
+ * enclosing its bounds. Each frame is stored at the deepest node which core contains its
+ * center and which half-size is greater than its radius, so that the ball is always
+ * enclosed by the node loose bounds (i.e., the node core expanded by its half-size).
+ * <p>
+ * The index is fed by the frame modifications: a modified frame (and its descendants) is
+ * only re-located the next time the index is queried (or {@link #update()} is called)
+ * and only moves to another node if it left its current one. Changes to the frame
+ * hierarchy topology rebuild the whole index.
+ * <p>
+ * Use {@link AbstractScene#frameIndex()} to get the scene index.
+ */
+public class FrameIndex {
+  protected static final int NODE_CAPACITY = 8;
+  protected static final int MAX_DEPTH = 16;
+
+  protected static class Node {
+    protected Node parent;
+    protected int octant, depth;
+    protected float x, y, z, half;
+    protected Node[] children;
+    protected ArrayList<Entry> entries = new ArrayList<Entry>();
+
+    protected Node(Node parent, int octant, float x, float y, float z, float half) {
+      this.parent = parent;
+      this.octant = octant;
+      this.depth = parent == null ? 0 : parent.depth + 1;
+      this.x = x;
+      this.y = y;
+      this.z = z;
+      this.half = half;
+    }
+  }
+
+  protected static class Entry {
+    protected GenericFrame frame;
+    protected float x, y, z, radius;
+    protected Node node;
+    protected int slot;
+
+    protected Entry(GenericFrame frame) {
+      this.frame = frame;
+    }
+  }
+
+  // query results (nodes or entries) sorted by distance
+  protected static class Candidate {
+    protected Node node;
+    protected Entry entry;
+    protected float distance;
+
+    protected Candidate(Node node, Entry entry, float distance) {
+      this.node = node;
+      this.entry = entry;
+      this.distance = distance;
+    }
+  }
+
+  protected static final Comparator<Candidate> CLOSEST = new Comparator<Candidate>() {
+    @Override
+    public int compare(Candidate c1, Candidate c2) {
+      return Float.compare(c1.distance, c2.distance);
+    }
+  };
+
+  protected AbstractScene scene;
+  protected Node root;
+  protected Map<GenericFrame, Entry> entries = new IdentityHashMap<GenericFrame, Entry>();
+  // frames modified since the last update()
+  protected Set<GenericFrame> dirty = Collections.newSetFromMap(new IdentityHashMap<GenericFrame, Boolean>());
+  private long treeCheck = -1;
+  private Vec center = new Vec();
+
+  /**
+   * Creates an index of the {@code scene} frames. Use {@link AbstractScene#frameIndex()}
+   * instead.
+   */
+  protected FrameIndex(AbstractScene scene) {
+    this.scene = scene;
+  }
+
+  /**
+   * Returns the scene this index belongs to.
+   */
+  public AbstractScene scene() {
+    return scene;
+  }
+
+  /**
+   * Returns the number of indexed frames.
+   */
+  public int size() {
+    update();
+    return entries.size();
+  }
+
+  /**
+   * Internal use. Automatically called by {@link GenericFrame} when its state (or its
+   * bounds) changes.
+   */
+  protected void modified(GenericFrame frame) {
+    dirty.add(frame);
+  }
+
+  /**
+   * Brings the index up-to-date with the frame hierarchy. The whole index is rebuilt if
+   * the hierarchy topology has changed. Otherwise only the modified frames (and their
+   * descendants) are re-located.
+   * <p>
+   * Automatically called by all the queries.
+   */
+  public void update() {
+    if (treeCheck != scene.treeVersion) {
+      rebuild();
+      return;
+    }
+    if (dirty.isEmpty())
+      return;
+    for (GenericFrame frame : dirty)
+      refresh(frame);
+    dirty.clear();
+  }
+
+  protected void rebuild() {
+    entries.clear();
+    dirty.clear();
+    root = null;
+    for (GenericFrame frame : scene.frames(false)) {
+      Entry entry = new Entry(frame);
+      entries.put(frame, entry);
+      locate(entry);
+      insert(entry);
+    }
+    treeCheck = scene.treeVersion;
+  }
+
+  /**
+   * Re-locates {@code frame} and all its descendants.
+   */
+  protected void refresh(GenericFrame frame) {
+    Entry entry = entries.get(frame);
+    if (entry != null) {
+      locate(entry);
+      if (entry.node == null || !contains(entry.node, entry)) {
+        remove(entry);
+        insert(entry);
+      }
+    }
+    for (GenericFrame child : frame.children())
+      refresh(child);
+  }
+
+  /**
+   * Computes the world center and radius of the {@code entry} frame.
+   */
+  protected void locate(Entry entry) {
+    GenericFrame frame = entry.frame;
+    Vec position;
+    if (frame.hasBounds()) {
+      center.set((frame.boundsMin.x() + frame.boundsMax.x()) / 2, (frame.boundsMin.y() + frame.boundsMax.y()) / 2,
+          (frame.boundsMin.z() + frame.boundsMax.z()) / 2);
+      position = frame.inverseCoordinatesOf(center);
+      entry.radius = Vec.distance(frame.boundsMin, frame.boundsMax) / 2 * Math.abs(frame.magnitude());
+    } else {
+      position = frame.position();
+      entry.radius = 0;
+    }
+    entry.x = position.x();
+    entry.y = position.y();
+    entry.z = scene.is3D() ? position.z() : 0;
+  }
+
+  protected boolean contains(Node node, Entry entry) {
+    return entry.radius <= node.half && Math.abs(entry.x - node.x) <= node.half
+        && Math.abs(entry.y - node.y) <= node.half && Math.abs(entry.z - node.z) <= node.half;
+  }
+
+  protected int octant(Node node, float x, float y, float z) {
+    int octant = (x >= node.x ? 1 : 0) | (y >= node.y ? 2 : 0);
+    if (scene.is3D() && z >= node.z)
+      octant |= 4;
+    return octant;
+  }
+
+  protected Node child(Node node, int octant) {
+    if (node.children[octant] == null) {
+      float h = node.half / 2;
+      node.children[octant] = new Node(node, octant, node.x + ((octant & 1) != 0 ? h : -h),
+          node.y + ((octant & 2) != 0 ? h : -h), scene.is3D() ? node.z + ((octant & 4) != 0 ? h : -h) : node.z, h);
+    }
+    return node.children[octant];
+  }
+
+  /**
+   * Inserts the (located) {@code entry}, growing the root node as needed.
+   */
+  protected void insert(Entry entry) {
+    if (Float.isNaN(entry.x + entry.y + entry.z + entry.radius)
+        || Float.isInfinite(entry.x + entry.y + entry.z + entry.radius))
+      return;
+    if (root == null)
+      root = new Node(null, 0, entry.x, entry.y, entry.z, Math.max(Math.max(entry.radius, scene.radius()), 1));
+    while (!contains(root, entry)) {
+      // double the root towards the entry
+      float h = root.half;
+      Node node = new Node(null, 0, root.x + (entry.x >= root.x ? h : -h), root.y + (entry.y >= root.y ? h : -h),
+          scene.is3D() ? root.z + (entry.z >= root.z ? h : -h) : root.z, 2 * h);
+      node.children = new Node[scene.is3D() ? 8 : 4];
+      root.octant = octant(node, root.x, root.y, root.z);
+      root.parent = node;
+      node.children[root.octant] = root;
+      root = node;
+      updateDepth(root);
+    }
+    insert(root, entry);
+  }
+
+  private void updateDepth(Node node) {
+    node.depth = node.parent == null ? 0 : node.parent.depth + 1;
+    if (node.children != null)
+      for (Node child : node.children)
+        if (child != null)
+          updateDepth(child);
+  }
+
+  protected void insert(Node node, Entry entry) {
+    while (true) {
+      if (node.children == null) {
+        if (node.entries.size() < NODE_CAPACITY || node.depth >= MAX_DEPTH)
+          break;
+        split(node);
+      }
+      if (entry.radius > node.half / 2)
+        break;
+      node = child(node, octant(node, entry.x, entry.y, entry.z));
+    }
+    entry.node = node;
+    entry.slot = node.entries.size();
+    node.entries.add(entry);
+  }
+
+  protected void split(Node node) {
+    node.children = new Node[scene.is3D() ? 8 : 4];
+    ArrayList<Entry> list = node.entries;
+    node.entries = new ArrayList<Entry>();
+    for (Entry entry : list)
+      insert(node, entry);
+  }
+
+  protected void remove(Entry entry) {
+    Node node = entry.node;
+    if (node == null)
+      return;
+    Entry last = node.entries.remove(node.entries.size() - 1);
+    if (last != entry) {
+      node.entries.set(entry.slot, last);
+      last.slot = entry.slot;
+    }
+    entry.node = null;
+    // prune the empty branch
+    while (node.parent != null && node.entries.isEmpty() && node.children == null) {
+      Node parent = node.parent;
+      parent.children[node.octant] = null;
+      boolean empty = true;
+      for (Node child : parent.children)
+        if (child != null)
+          empty = false;
+      if (empty)
+        parent.children = null;
+      node = parent;
+    }
+  }
+
+  // QUERIES
+
+  /**
+   * Returns the frames within {@code radius} of {@code center}, i.e., the frames which
+   * position (or bounding ball) intersects the ball of the given {@code center} and
+   * {@code radius}.
+   */
+  public List<GenericFrame> range(Vec center, float radius) {
+    update();
+    List<GenericFrame> list = new ArrayList<GenericFrame>();
+    if (root != null)
+      range(root, center.x(), center.y(), scene.is3D() ? center.z() : 0, radius, list);
+    return list;
+  }
+
+  protected void range(Node node, float x, float y, float z, float radius, List<GenericFrame> list) {
+    if (distance(node, x, y, z) > radius)
+      return;
+    for (Entry entry : node.entries)
+      if (distance(entry, x, y, z) <= radius)
+        list.add(entry.frame);
+    if (node.children != null)
+      for (Node child : node.children)
+        if (child != null)
+          range(child, x, y, z, radius, list);
+  }
+
+  /**
+   * Returns the frame nearest to {@code point}, or {@code null} if the index is empty.
+   *
+   * @see #nearest(Vec, int)
+   */
+  public GenericFrame nearest(Vec point) {
+    List<GenericFrame> list = nearest(point, 1);
+    return list.isEmpty() ? null : list.get(0);
+  }
+
+  /**
+   * Returns the {@code k} frames nearest to {@code point}, sorted by distance. The
+   * distance to a frame having bounds is measured to its bounding ball.
+   */
+  public List<GenericFrame> nearest(Vec point, int k) {
+    update();
+    List<GenericFrame> list = new ArrayList<GenericFrame>();
+    if (root == null || k <= 0)
+      return list;
+    float x = point.x(), y = point.y(), z = scene.is3D() ? point.z() : 0;
+    // best-first search: a node distance is a lower bound of the distances of its entries
+    PriorityQueue<Candidate> queue = new PriorityQueue<Candidate>(64, CLOSEST);
+    queue.add(new Candidate(root, null, distance(root, x, y, z)));
+    while (!queue.isEmpty() && list.size() < k) {
+      Candidate candidate = queue.poll();
+      if (candidate.entry != null) {
+        list.add(candidate.entry.frame);
+        continue;
+      }
+      Node node = candidate.node;
+      for (Entry entry : node.entries)
+        queue.add(new Candidate(null, entry, distance(entry, x, y, z)));
+      if (node.children != null)
+        for (Node child : node.children)
+          if (child != null)
+            queue.add(new Candidate(child, null, distance(child, x, y, z)));
+    }
+    return list;
+  }
+
+  /**
+   * Returns the frames hit by the ray starting at {@code origin} along {@code direction},
+   * sorted by distance to {@code origin}. A frame is hit if the ray passes within
+   * {@code radius} of its position (or of its bounding ball).
+   */
+  public List<GenericFrame> ray(Vec origin, Vec direction, float radius) {
+    update();
+    List<GenericFrame> list = new ArrayList<GenericFrame>();
+    float m = direction.magnitude();
+    if (root == null || m == 0)
+      return list;
+    float[] o = new float[] { origin.x(), origin.y(), scene.is3D() ? origin.z() : 0 };
+    float[] d = new float[] { direction.x() / m, direction.y() / m, scene.is3D() ? direction.z() / m : 0 };
+    List<Candidate> hits = new ArrayList<Candidate>();
+    ray(root, o, d, radius, hits);
+    Collections.sort(hits, CLOSEST);
+    for (Candidate hit : hits)
+      list.add(hit.entry.frame);
+    return list;
+  }
+
+  protected void ray(Node node, float[] o, float[] d, float radius, List<Candidate> hits) {
+    // slab test against the node loose bounds expanded by radius
+    float extent = 2 * node.half + radius;
+    float[] c = new float[] { node.x, node.y, node.z };
+    float near = 0, far = Float.POSITIVE_INFINITY;
+    for (int i = 0; i < 3; i++) {
+      float min = c[i] - extent, max = c[i] + extent;
+      if (d[i] == 0) {
+        if (o[i] < min || o[i] > max)
+          return;
+        continue;
+      }
+      float t1 = (min - o[i]) / d[i], t2 = (max - o[i]) / d[i];
+      near = Math.max(near, Math.min(t1, t2));
+      far = Math.min(far, Math.max(t1, t2));
+      if (near > far)
+        return;
+    }
+    for (Entry entry : node.entries) {
+      float r = entry.radius + radius;
+      float vx = entry.x - o[0], vy = entry.y - o[1], vz = entry.z - o[2];
+      float t = vx * d[0] + vy * d[1] + vz * d[2];
+      float squared = vx * vx + vy * vy + vz * vz - t * t;
+      if (squared > r * r)
+        continue;
+      float offset = (float) Math.sqrt(r * r - squared);
+      if (t + offset < 0)
+        continue;
+      hits.add(new Candidate(null, entry, Math.max(t - offset, 0)));
+    }
+    if (node.children != null)
+      for (Node child : node.children)
+        if (child != null)
+          ray(child, o, d, radius, hits);
+  }
+
+  /**
+   * Returns the distance from the given point to the {@code node} loose bounds.
+   */
+  protected float distance(Node node, float x, float y, float z) {
+    float extent = 2 * node.half;
+    float dx = Math.max(Math.abs(x - node.x) - extent, 0);
+    float dy = Math.max(Math.abs(y - node.y) - extent, 0);
+    float dz = Math.max(Math.abs(z - node.z) - extent, 0);
+    return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+  }
+
+  /**
+   * Returns the distance from the given point to the {@code entry} ball.
+   */
+  protected float distance(Entry entry, float x, float y, float z) {
+    float dx = x - entry.x, dy = y - entry.y, dz = z - entry.z;
+    return Math.max((float) Math.sqrt(dx * dx + dy * dy + dz * dz) - entry.radius, 0);
+  }
+}
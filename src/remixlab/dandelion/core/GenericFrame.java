@@ -20,9 +20,8 @@ import remixlab.dandelion.geom.*;
 import remixlab.fpstiming.TimingTask;
 import remixlab.util.Util;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.lang.reflect.Method;
+import java.util.*;
 
 /**
  * A {@link remixlab.dandelion.geom.Frame} implementing the
@@ -148,6 +147,9 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
   protected static final long FLY_UPDATE_PERDIOD = 20;
 
   protected long lastUpdate;
+  // lastUpdate() cache, see lastUpdate()
+  private long updateCheck = -1;
+  private long updateCache;
   protected AbstractScene gScene;
   protected Eye theeye;
 
@@ -173,6 +175,12 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
   private float flySpeedCache;
 
   protected List<GenericFrame> childrenList;
+  // identity membership of the children (Frame.equals() compares values)
+  protected Set<GenericFrame> childrenSet;
+  // index in the scene flattened traversal order, see AbstractScene.updateTraversal()
+  int treeIndex = -1;
+  // optional local bounding box, see setBounds(Vec, Vec)
+  protected Vec boundsMin, boundsMax;
 
   /**
    * Same as {@code this(scn, null, new Vec(), scn.is3D() ? new Quat() : new Rot(), 1)}.
@@ -513,6 +521,7 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
       throw new RuntimeException("Maximum iFrame instances reached. Exiting now!");
     visit = true;
     childrenList = new ArrayList<GenericFrame>();
+    childrenSet = Collections.newSetFromMap(new IdentityHashMap<GenericFrame, Boolean>());
     // scene().addLeadingFrame(this);
     setReferenceFrame(referenceFrame());// restorePath seems more robust
     setRotationSensitivity(1.0f);
@@ -523,21 +532,9 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
     setSpinningSensitivity(0.3f);
     setDamping(0.5f);
 
-    spinningTimerTask = new TimingTask() {
-      public void execute() {
-        spinExecution();
-      }
-    };
-    scene().registerTimingTask(spinningTimerTask);
-
+    // the spinning and fly timer tasks are lazily registered, see startSpinning()
     scnUpVec = new Vec(0.0f, 1.0f, 0.0f);
     flyDisp = new Vec(0.0f, 0.0f, 0.0f);
-    flyTimerTask = new TimingTask() {
-      public void execute() {
-        fly();
-      }
-    };
-    scene().registerTimingTask(flyTimerTask);
     // end
   }
 
@@ -552,28 +549,19 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
 
     this.visit = otherFrame.visit;
     this.hint = otherFrame.hint;
+    if (otherFrame.hasBounds()) {
+      this.boundsMin = otherFrame.boundsMin.get();
+      this.boundsMax = otherFrame.boundsMax.get();
+    }
 
     this.childrenList = new ArrayList<GenericFrame>();
+    this.childrenSet = Collections.newSetFromMap(new IdentityHashMap<GenericFrame, Boolean>());
     this.setReferenceFrame(referenceFrame());// restorePath
 
-    this.spinningTimerTask = new TimingTask() {
-      public void execute() {
-        spinExecution();
-      }
-    };
-
-    this.gScene.registerTimingTask(spinningTimerTask);
-
     this.scnUpVec = new Vec();
     this.scnUpVec.set(otherFrame.sceneUpVector());
     this.flyDisp = new Vec();
     this.flyDisp.set(otherFrame.flyDisp.get());
-    this.flyTimerTask = new TimingTask() {
-      public void execute() {
-        fly();
-      }
-    };
-    this.gScene.registerTimingTask(flyTimerTask);
     lastUpdate = otherFrame.lastUpdate();
     // end
     // this.isInCamPath = otherFrame.isInCamPath;
@@ -639,6 +627,62 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
     return (255 << 24) | ((id & 255) << 16) | (((id >> 8) & 255) << 8) | (id >> 16) & 255;
   }
 
+  // BOUNDS
+
+  /**
+   * Sets the frame bounds as the axis-aligned box (defined in the frame coordinate
+   * system) having {@code p1} and {@code p2} as opposite corners. The bounds should
+   * enclose all the geometry drawn by the frame {@link #visit()}.
+   * <p>
+   * The bounds of a frame and those of its descendants are aggregated by the scene into
+   * subtree bounds which are used to cull whole branches from the
+   * {@link remixlab.dandelion.core.AbstractScene#traverseTree()} (see
+   * {@link remixlab.dandelion.core.AbstractScene#enableFrustumCulling()}). Note that a
+   * branch having a frame without bounds is never culled as a whole.
+   *
+   * @see #setBounds(Vec, float)
+   * @see #resetBounds()
+   * @see #hasBounds()
+   */
+  public void setBounds(Vec p1, Vec p2) {
+    boundsMin = new Vec(Math.min(p1.x(), p2.x()), Math.min(p1.y(), p2.y()), Math.min(p1.z(), p2.z()));
+    boundsMax = new Vec(Math.max(p1.x(), p2.x()), Math.max(p1.y(), p2.y()), Math.max(p1.z(), p2.z()));
+    if (scene() != null)
+      scene().modifiedBounds(this);
+  }
+
+  /**
+   * Sets the frame bounds as the box enclosing the ball (defined in the frame coordinate
+   * system) of the given {@code center} and {@code radius}.
+   *
+   * @see #setBounds(Vec, Vec)
+   */
+  public void setBounds(Vec center, float radius) {
+    setBounds(new Vec(center.x() - radius, center.y() - radius, center.z() - radius),
+        new Vec(center.x() + radius, center.y() + radius, center.z() + radius));
+  }
+
+  /**
+   * Removes the frame bounds.
+   *
+   * @see #setBounds(Vec, Vec)
+   */
+  public void resetBounds() {
+    boundsMin = null;
+    boundsMax = null;
+    if (scene() != null)
+      scene().modifiedBounds(this);
+  }
+
+  /**
+   * Returns {@code true} if the frame has bounds.
+   *
+   * @see #setBounds(Vec, Vec)
+   */
+  public boolean hasBounds() {
+    return boundsMin != null;
+  }
+
   // GRAPH
 
   @Override
@@ -700,8 +744,10 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
   protected boolean addChild(GenericFrame frame) {
     if (frame == null)
       return false;
-    if (hasChild(frame))
+    if (!childrenSet.add(frame))
       return false;
+    if (scene() != null)
+      scene().modifiedTree();
     return children().add(frame);
   }
 
@@ -709,23 +755,33 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
    * Removes the leading frame if present. Typically used when re-parenting the frame.
    */
   protected boolean removeChild(GenericFrame frame) {
-    boolean result = false;
-    Iterator<GenericFrame> it = children().iterator();
-    while (it.hasNext()) {
-      if (it.next() == frame) {
-        it.remove();
-        result = true;
-        break;
-      }
-    }
-    return result;
+    if (!childrenSet.remove(frame))
+      return false;
+    AbstractScene.removeIdentical(children(), frame);
+    if (scene() != null)
+      scene().modifiedTree();
+    return true;
   }
 
+  /**
+   * Removes all the frame children. Used when pruning a branch.
+   *
+   * @see remixlab.dandelion.core.AbstractScene#pruneBranch(GenericFrame)
+   */
+  protected void clearChildren() {
+    if (children().isEmpty())
+      return;
+    children().clear();
+    childrenSet.clear();
+    if (scene() != null)
+      scene().modifiedTree();
+  }
+
+  /**
+   * Returns {@code true} if {@code gFrame} is a child of this frame. Takes constant time.
+   */
   protected boolean hasChild(GenericFrame gFrame) {
-    for (GenericFrame frame : children())
-      if (frame == gFrame)
-        return true;
-    return false;
+    return childrenSet.contains(gFrame);
   }
 
   /**
@@ -961,6 +1017,48 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
     return checkIfGrabsInput(event.x(), event.y());
   }
 
+  /**
+   * Returns {@code true} if the frame picking condition is the default one, i.e., if a
+   * pointer may only grab the frame within its {@link #grabsInputThreshold()} square
+   * around its projected {@link #position()} (see {@link #checkIfGrabsInput(float, float)}
+   * ). Returns {@code false} for eye-frames and for frames overriding some
+   * {@code checkIfGrabsInput} method.
+   * <p>
+   * Pointer agents use it to discard the frames lying far from the pointer when picking
+   * (see {@link remixlab.dandelion.core.AbstractScene#pickingCandidates(Agent, BogusEvent)}
+   * ). Override it if the picking condition of the frame changes by other means.
+   */
+  public boolean hasDefaultPickingCondition() {
+    return !isEyeFrame() && !declaresPickingCondition(getClass(), GenericFrame.class);
+  }
+
+  // picking condition declarations, see declaresPickingCondition()
+  private static Map<Class<?>, Map<Class<?>, Boolean>> pickingConditions = new HashMap<Class<?>, Map<Class<?>, Boolean>>();
+
+  /**
+   * Returns {@code true} if {@code cls} or any of its super classes below {@code base}
+   * declare a {@code checkIfGrabsInput} method. Results are cached per class.
+   *
+   * @see #hasDefaultPickingCondition()
+   */
+  protected static boolean declaresPickingCondition(Class<?> cls, Class<?> base) {
+    Map<Class<?>, Boolean> results = pickingConditions.get(base);
+    if (results == null) {
+      results = new HashMap<Class<?>, Boolean>();
+      pickingConditions.put(base, results);
+    }
+    Boolean result = results.get(cls);
+    if (result == null) {
+      result = false;
+      for (Class<?> c = cls; c != null && c != base && !result; c = c.getSuperclass())
+        for (Method method : c.getDeclaredMethods())
+          if (method.getName().equals("checkIfGrabsInput"))
+            result = true;
+      results.put(cls, result);
+    }
+    return result;
+  }
+
   /**
    * Picks the generic-frame according to the {@link #pickingPrecision()}.
    *
@@ -1115,20 +1213,37 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
 
   /**
    * Internal use. Automatically call by all methods which change the Frame state.
+   * <p>
+   * Only the Frame itself is stamped (in O(1)). The modifications of the
+   * {@link #referenceFrame()} hierarchy are lazily taken into account by
+   * {@link #lastUpdate()}. The frame is also reported to the scene
+   * {@link remixlab.dandelion.core.AbstractScene#frameIndex()}, if any.
    */
   @Override
   protected void modified() {
+    super.modified();
     lastUpdate = AbstractScene.frameCount;
-    if (children() != null)
-      for (GenericFrame child : children())
-        child.modified();
+    if (gScene != null && gScene.frameIndex != null)
+      gScene.frameIndex.modified(this);
   }
 
   /**
-   * @return the last frame the Frame was updated.
+   * @return the last frame the Frame (or any of its ancestors) was updated.
+   * <p>
+   * The value is lazily computed from the Frame and its ancestors' stamps, and cached
+   * until some Frame is modified again (see
+   * {@link remixlab.dandelion.geom.Frame#modifications()}).
    */
   public long lastUpdate() {
-    return lastUpdate;
+    if (updateCheck != Frame.modifications()) {
+      long update = lastUpdate;
+      for (Frame ref = referenceFrame(); ref != null; ref = ref.referenceFrame())
+        if (ref instanceof GenericFrame)
+          update = Math.max(update, ((GenericFrame) ref).lastUpdate);
+      updateCache = update;
+      updateCheck = Frame.modifications();
+    }
+    return updateCache;
   }
 
   // SYNC
@@ -1376,7 +1491,7 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
    * @see #isFlying()
    */
   public final boolean isSpinning() {
-    return spinningTimerTask.isActive();
+    return spinningTimerTask != null && spinningTimerTask.isActive();
   }
 
   /**
@@ -1419,7 +1534,13 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
    * @see #damping()
    */
   public final void stopSpinning() {
-    spinningTimerTask.stop();
+    if (spinningTimerTask == null)
+      return;
+    // may be called from a timer thread, see TimingHandler.registerTask(TimingTask, Timer)
+    synchronized (gScene.timingHandler()) {
+      spinningTimerTask.stop();
+      gScene.unregisterTimingTask(spinningTimerTask);
+    }
   }
 
   /**
@@ -1439,6 +1560,9 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
    * {@code updateInterval} milliseconds. The generic-frame {@link #isSpinning()} until
    * you call {@link #stopSpinning()}.
    * <p>
+   * The timer task is only registered at the scene timing handler while the frame spins,
+   * so that idle frames cost no timer bookkeeping.
+   * <p>
    * <b>Attention: </b>Spinning may be decelerated according to {@link #damping()} till it
    * stops completely.
    *
@@ -1452,8 +1576,19 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
     if (Util.zero(damping()) && eventSpeed < spinningSensitivity())
       return;
     int updateInterval = (int) delay;
-    if (updateInterval > 0)
-      spinningTimerTask.run(updateInterval);
+    if (updateInterval > 0) {
+      if (spinningTimerTask == null)
+        spinningTimerTask = new TimingTask() {
+          public void execute() {
+            spinExecution();
+          }
+        };
+      synchronized (gScene.timingHandler()) {
+        if (!gScene.timingHandler().isTaskRegistered(spinningTimerTask))
+          gScene.registerTimingTask(spinningTimerTask);
+        spinningTimerTask.run(updateInterval);
+      }
+    }
   }
 
   /**
@@ -2835,7 +2970,7 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
    * {@link #isSpinning()}
    */
   public final boolean isFlying() {
-    return flyTimerTask.isActive();
+    return flyTimerTask != null && flyTimerTask.isActive();
   }
 
   /**
@@ -2849,7 +2984,13 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
    * @see #spin()
    */
   public final void stopFlying() {
-    flyTimerTask.stop();
+    if (flyTimerTask == null)
+      return;
+    // may be called from a timer thread, see TimingHandler.registerTask(TimingTask, Timer)
+    synchronized (gScene.timingHandler()) {
+      flyTimerTask.stop();
+      gScene.unregisterTimingTask(flyTimerTask);
+    }
   }
 
   /**
@@ -2892,7 +3033,8 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
    * <p>
    * This method starts a timer that will call {@link #damping()} every FLY_UPDATE_PERDIOD
    * milliseconds. The generic-frame {@link #isFlying()} until you call
-   * {@link #stopFlying()}.
+   * {@link #stopFlying()}. As with {@link #startSpinning(Rotation, float, long)}, the timer
+   * task is only registered while the frame flies.
    * <p>
    * <b>Attention: </b>Tossing may be decelerated according to {@link #damping()} till it
    * stops completely.
@@ -2905,7 +3047,17 @@ public class GenericFrame extends Frame implements Grabber, Trackable {
   public void startFlying(Vec direction, float speed) {
     eventSpeed = speed;
     setFlyDirection(direction);
-    flyTimerTask.run(FLY_UPDATE_PERDIOD);
+    if (flyTimerTask == null)
+      flyTimerTask = new TimingTask() {
+        public void execute() {
+          fly();
+        }
+      };
+    synchronized (gScene.timingHandler()) {
+      if (!gScene.timingHandler().isTaskRegistered(flyTimerTask))
+        gScene.registerTimingTask(flyTimerTask);
+      flyTimerTask.run(FLY_UPDATE_PERDIOD);
+    }
   }
 
   /**
@@ -11,6 +11,7 @@
 package remixlab.dandelion.core;
 
 import remixlab.dandelion.geom.*;
+import remixlab.fpstiming.SeqTimer;
 import remixlab.fpstiming.TimingTask;
 import remixlab.util.Copyable;
 import remixlab.util.EqualsBuilder;
@@ -217,6 +218,7 @@ public class KeyFrameInterpolator implements Copyable {
   }
 
   private long lUpdate;
+  private long modificationsCheck = -1;
   protected List<KeyFrame> keyFrameList;
   private ListIterator<KeyFrame> currentFrame0;
   private ListIterator<KeyFrame> currentFrame1;
@@ -584,6 +586,11 @@ public class KeyFrameInterpolator implements Copyable {
    * Use {@link #setInterpolationTime(float)} before calling this method to change the
    * starting {@link #interpolationTime()}.
    * <p>
+   * If the timer is sequential, it runs in fixed timestep mode (see
+   * {@link remixlab.fpstiming.SeqTimer#enableFixedTimestep()}), so that the
+   * {@link #interpolationTime()} follows the scene timing handler clock (see
+   * {@link remixlab.fpstiming.TimingHandler#clock()}), rather than the frame count.
+   * <p>
    * <b>Attention:</b> The keyFrames must be defined (see
    * {@link #addKeyFrame(GenericFrame, float)}) before you startInterpolation(), or else
    * the interpolation will naturally immediately stop.
@@ -597,8 +604,11 @@ public class KeyFrameInterpolator implements Copyable {
         setInterpolationTime(keyFrameList.get(0).time());
       if ((interpolationSpeed() < 0.0) && (interpolationTime() <= keyFrameList.get(0).time()))
         setInterpolationTime(keyFrameList.get(keyFrameList.size() - 1).time());
-      if (keyFrameList.size() > 1)
+      if (keyFrameList.size() > 1) {
+        if (interpolationTimerTask.timer() instanceof SeqTimer)
+          ((SeqTimer) interpolationTimerTask.timer()).enableFixedTimestep();
         interpolationTimerTask.run(interpolationPeriod());
+      }
       interpolationStrt = true;
       update();
     }
@@ -817,6 +827,10 @@ public class KeyFrameInterpolator implements Copyable {
    * path was recently modified.
    */
   protected void checkValidity() {
+    // key frames can only be outdated if some frame has been modified since the last check
+    if (modificationsCheck == Frame.modifications())
+      return;
+    modificationsCheck = Frame.modifications();
     boolean flag = false;
     for (KeyFrame element : keyFrameList) {
       if (element.frame().lastUpdate() > lastUpdate()) {
@@ -12,14 +12,19 @@ package remixlab.dandelion.core;
 
 import remixlab.dandelion.geom.Mat;
 
+import java.util.Arrays;
+
 /**
  * Complete implementation of {@link remixlab.dandelion.core.MatrixHelper} which attaches
  * to it a projection matrix stack and a modelview matrix stack.
+ * <p>
+ * Both stacks are unbounded: they grow on demand (so that arbitrarily deep frame
+ * hierarchies may be visited) and their float[16] slots are kept for reuse, so that
+ * pushing a matrix doesn't allocate once the stack has reached its maximum depth.
  */
 public class MatrixStackHelper extends MatrixHelper {
   private static final int MATRIX_STACK_DEPTH = 32;
 
-  private static final String ERROR_PUSHMATRIX_OVERFLOW = "Too many calls to pushModelView().";
   private static final String ERROR_PUSHMATRIX_UNDERFLOW = "Too many calls to popModelView(), and not enough to pushModelView().";
 
   float[][] matrixStack = new float[MATRIX_STACK_DEPTH][16];
@@ -38,13 +43,23 @@ public class MatrixStackHelper extends MatrixHelper {
 
   @Override
   public void pushModelView() {
-    if (matrixStackDepth == MATRIX_STACK_DEPTH) {
-      throw new RuntimeException(ERROR_PUSHMATRIX_OVERFLOW);
-    }
+    if (matrixStackDepth == matrixStack.length)
+      matrixStack = grow(matrixStack);
     modelview.get(matrixStack[matrixStackDepth]);
     matrixStackDepth++;
   }
 
+  /**
+   * Doubles the {@code stack} capacity, keeping its current float[16] slots.
+   */
+  protected static float[][] grow(float[][] stack) {
+    int depth = stack.length;
+    stack = Arrays.copyOf(stack, 2 * depth);
+    for (int i = depth; i < stack.length; i++)
+      stack[i] = new float[16];
+    return stack;
+  }
+
   @Override
   public void popModelView() {
     if (matrixStackDepth == 0) {
@@ -140,9 +155,8 @@ public class MatrixStackHelper extends MatrixHelper {
 
   @Override
   public void pushProjection() {
-    if (pmatrixStackDepth == MATRIX_STACK_DEPTH) {
-      throw new RuntimeException(ERROR_PUSHMATRIX_OVERFLOW);
-    }
+    if (pmatrixStackDepth == pmatrixStack.length)
+      pmatrixStack = grow(pmatrixStack);
     projection.get(pmatrixStack[pmatrixStackDepth]);
     pmatrixStackDepth++;
   }
@@ -0,0 +1,164 @@
+/**************************************************************************************
+ * dandelion_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+package remixlab.dandelion.core;
+
+import remixlab.bias.Agent;
+import remixlab.bias.Grabber;
+import remixlab.dandelion.geom.Frame;
+import remixlab.dandelion.geom.Vec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A screen-space bucket grid of the {@link Agent#grabbers()} of a given agent, used to
+ * narrow down the grabbers queried for picking at a given pointer position (see
+ * {@link AbstractScene#pickingCandidates(Agent, remixlab.bias.BogusEvent)}).
+ * <p>
+ * Frames having the default picking condition (see
+ * {@link GenericFrame#hasDefaultPickingCondition()}) are bucketed into the grid cells
+ * overlapped by the square of size {@link GenericFrame#grabsInputThreshold()} centered
+ * at their projected {@link GenericFrame#position()}. All the other grabbers are always
+ * regarded as candidates. The grid is rebuilt at most once per frame, unless some frame
+ * or the agent grabbers list are modified.
+ */
+public class PickingGrid {
+  // cell size in pixels
+  protected static final int CELL_SIZE = 32;
+
+  protected AbstractScene scene;
+  protected Agent agent;
+  private long frameCheck = -1, modificationsCheck = -1, grabbersCheck = -1;
+  protected int cols, rows;
+  // agent grabber indices bucketed by cell, those of cell c at [cellStart[c], cellStart[c+1])
+  protected int[] cellStart = new int[1];
+  protected int[] cellItems = new int[0];
+  // agent grabber indices which are not bucketed
+  protected int[] others = new int[0];
+  protected int otherCount;
+  // projected position and half threshold of each bucketed grabber
+  protected float[] projX = new float[0], projY = new float[0], half = new float[0];
+  protected List<Grabber> candidates = new ArrayList<Grabber>();
+
+  /**
+   * Creates the picking grid of the {@code agent} grabbers. Use
+   * {@link AbstractScene#pickingCandidates(Agent, remixlab.bias.BogusEvent)} instead.
+   */
+  protected PickingGrid(AbstractScene scene, Agent agent) {
+    this.scene = scene;
+    this.agent = agent;
+  }
+
+  /**
+   * Returns the agent whose grabbers are bucketed by the grid.
+   */
+  public Agent agent() {
+    return agent;
+  }
+
+  /**
+   * Rebuilds the grid if the frame count, some frame, or the {@link #agent()} grabbers
+   * list have changed since it was last built.
+   */
+  public void update() {
+    if (frameCheck == AbstractScene.frameCount && modificationsCheck == Frame.modifications()
+        && grabbersCheck == agent.grabbersVersion())
+      return;
+    List<Grabber> grabbers = agent.grabbers();
+    int n = grabbers.size();
+    if (projX.length < n) {
+      projX = new float[n];
+      projY = new float[n];
+      half = new float[n];
+      others = new int[n];
+    }
+    cols = Math.max(1, (scene.width() + CELL_SIZE - 1) / CELL_SIZE);
+    rows = Math.max(1, (scene.height() + CELL_SIZE - 1) / CELL_SIZE);
+    if (cellStart.length < cols * rows + 1)
+      cellStart = new int[cols * rows + 1];
+    else
+      Arrays.fill(cellStart, 0);
+    // 1. project the grabbers and count the items of each cell
+    otherCount = 0;
+    for (int i = 0; i < n; i++) {
+      Grabber grabber = grabbers.get(i);
+      half[i] = -1;
+      if (!(grabber instanceof GenericFrame) || ((GenericFrame) grabber).scene() != scene
+          || !((GenericFrame) grabber).hasDefaultPickingCondition()) {
+        others[otherCount++] = i;
+        continue;
+      }
+      GenericFrame frame = (GenericFrame) grabber;
+      Vec proj = scene.eye().projectedCoordinatesOf(frame.position());
+      float h = frame.grabsInputThreshold() / 2;
+      // a frame projected to NaN never meets the condition
+      if (Float.isNaN(proj.x() + proj.y() + h))
+        continue;
+      projX[i] = proj.x();
+      projY[i] = proj.y();
+      half[i] = h;
+      for (int r = row(projY[i] - h); r <= row(projY[i] + h); r++)
+        for (int c = col(projX[i] - h); c <= col(projX[i] + h); c++)
+          cellStart[r * cols + c + 1]++;
+    }
+    // 2. bucket them (keeping the agent grabbers order within each cell)
+    for (int c = 0; c < cols * rows; c++)
+      cellStart[c + 1] += cellStart[c];
+    if (cellItems.length < cellStart[cols * rows])
+      cellItems = new int[Math.max(cellStart[cols * rows], 2 * cellItems.length)];
+    int[] cursor = Arrays.copyOf(cellStart, cols * rows);
+    for (int i = 0; i < n; i++) {
+      if (half[i] < 0)
+        continue;
+      for (int r = row(projY[i] - half[i]); r <= row(projY[i] + half[i]); r++)
+        for (int c = col(projX[i] - half[i]); c <= col(projX[i] + half[i]); c++)
+          cellItems[cursor[r * cols + c]++] = i;
+    }
+    frameCheck = AbstractScene.frameCount;
+    modificationsCheck = Frame.modifications();
+    grabbersCheck = agent.grabbersVersion();
+  }
+
+  // positions outside the screen are clamped to the border cells
+
+  protected int col(float x) {
+    return (int) Math.min(Math.max(x / CELL_SIZE, 0), cols - 1);
+  }
+
+  protected int row(float y) {
+    return (int) Math.min(Math.max(y / CELL_SIZE, 0), rows - 1);
+  }
+
+  /**
+   * Returns the {@link #agent()} grabbers which may grab input at the {@code (x,y)}
+   * screen position, in {@link Agent#grabbers()} order: the bucketed frames in the
+   * {@code (x,y)} cell having it within their picking square, together with all the
+   * grabbers which are not bucketed. The returned list is reused by the next call.
+   */
+  public List<Grabber> candidates(float x, float y) {
+    update();
+    List<Grabber> grabbers = agent.grabbers();
+    candidates.clear();
+    int cell = row(y) * cols + col(x);
+    int item = cellStart[cell], end = cellStart[cell + 1], other = 0;
+    // merge both (sorted) index sequences
+    while (item < end || other < otherCount) {
+      if (other == otherCount || (item < end && cellItems[item] < others[other])) {
+        int i = cellItems[item++];
+        if (Math.abs(x - projX[i]) < half[i] && Math.abs(y - projY[i]) < half[i])
+          candidates.add(grabbers.get(i));
+      } else
+        candidates.add(grabbers.get(others[other++]));
+    }
+    return candidates;
+  }
+}
@@ -136,6 +136,18 @@ public class Frame implements Copyable {
   protected Frame refFrame;
   protected Constraint cnstrnt;
 
+  // world transformation cache, see updateWorldCache()
+  private static long modifications;
+  private long version;
+  private long worldStamp;
+  private long cacheVersion = -1;
+  private long cacheRefStamp;
+  private long cacheCheck = -1;
+  private Vec cachePos;
+  private Rotation cacheOrt;
+  private float cacheMag;
+  private Mat cacheMat;
+
   public Frame() {
     this(true);
   }
@@ -223,8 +235,64 @@ public class Frame implements Copyable {
 
   /**
    * Internal use. Automatically call by all methods which change the Frame state.
+   * <p>
+   * Invalidates the cached world transformation of the Frame (and hence that of its
+   * descendants), see {@link #position()}, {@link #orientation()}, {@link #magnitude()}
+   * and {@link #worldMatrix()}. Overriding methods should call {@code super.modified()}.
    */
   protected void modified() {
+    version++;
+    modifications++;
+  }
+
+  /**
+   * Internal use. Returns the total number of times any Frame has been
+   * {@link #modified()}. Since the counter only grows, comparing it against a previously
+   * stored value tells in O(1) whether some Frame has changed in the meantime.
+   */
+  public static long modifications() {
+    return modifications;
+  }
+
+  /**
+   * Internal use. Lazily recomputes the cached world transformation from that of the
+   * {@link #referenceFrame()}, but only if the Frame or one of its ancestors has been
+   * {@link #modified()} since the last time it was computed.
+   * <p>
+   * When no Frame at all has been modified since the last call, the check costs O(1).
+   * Otherwise it costs at most an integer comparison per ancestor, and only the stale
+   * levels of the chain are recomputed.
+   */
+  private void updateWorldCache() {
+    if (cacheCheck == modifications)
+      return;
+    Frame ref = referenceFrame();
+    if (ref != null)
+      ref.updateWorldCache();
+    if (cacheVersion != version || (ref != null && cacheRefStamp != ref.worldStamp)) {
+      if (ref == null) {
+        if (cachePos == null)
+          cachePos = new Vec();
+        cachePos.set(translation());
+        cacheOrt = rotation().get();
+        cacheMag = scaling();
+        cacheRefStamp = 0;
+      } else {
+        cachePos = Vec.multiply(translation(), ref.cacheMag, cachePos);
+        rotate(ref.cacheOrt, cachePos, cachePos);
+        cachePos.add(ref.cachePos);
+        if (is3D())
+          cacheOrt = Quat.compose(ref.cacheOrt, rotation());
+        else
+          cacheOrt = Rot.compose(ref.cacheOrt, rotation());
+        cacheMag = ref.cacheMag * scaling();
+        cacheRefStamp = ref.worldStamp;
+      }
+      cacheMat = null;
+      cacheVersion = version;
+      worldStamp++;
+    }
+    cacheCheck = modifications;
   }
 
   // DIM
@@ -430,6 +498,9 @@ public class Frame implements Copyable {
 
   /**
    * Returns the position of the Frame, defined in the world coordinate system.
+   * <p>
+   * The value is cached and it's only recomputed when the Frame or one of its ancestors
+   * is {@link #modified()}.
    *
    * @see #orientation()
    * @see #magnitude()
@@ -437,7 +508,8 @@ public class Frame implements Copyable {
    * @see #translation()
    */
   public final Vec position() {
-    return inverseCoordinatesOf(new Vec(0, 0, 0));
+    updateWorldCache();
+    return cachePos.get();
   }
 
   /**
@@ -620,6 +692,7 @@ public class Frame implements Copyable {
     this.rotation().compose(rotation);
     if (is3D())
       this.rotation().normalize(); // Prevents numerical drift
+    modified();
 
     Rotation q;
     if (is3D())
@@ -659,6 +732,9 @@ public class Frame implements Copyable {
 
   /**
    * Returns the orientation of the Frame, defined in the world coordinate system.
+   * <p>
+   * The value is cached and it's only recomputed when the Frame or one of its ancestors
+   * is {@link #modified()}.
    *
    * @see #position()
    * @see #magnitude()
@@ -666,16 +742,8 @@ public class Frame implements Copyable {
    * @see #rotation()
    */
   public final Rotation orientation() {
-    Rotation res = rotation().get();
-    Frame fr = referenceFrame();
-    while (fr != null) {
-      if (is3D())
-        res = Quat.compose(fr.rotation(), res);
-      else
-        res = Rot.compose(fr.rotation(), res);
-      fr = fr.referenceFrame();
-    }
-    return res;
+    updateWorldCache();
+    return cacheOrt.get();
   }
 
   /**
@@ -765,6 +833,9 @@ public class Frame implements Copyable {
 
   /**
    * Returns the magnitude of the Frame, defined in the world coordinate system.
+   * <p>
+   * The value is cached and it's only recomputed when the Frame or one of its ancestors
+   * is {@link #modified()}.
    *
    * @see #orientation()
    * @see #position()
@@ -772,10 +843,8 @@ public class Frame implements Copyable {
    * @see #translation()
    */
   public float magnitude() {
-    if (referenceFrame() != null)
-      return referenceFrame().magnitude() * scaling();
-    else
-      return scaling();
+    updateWorldCache();
+    return cacheMag;
   }
 
   /**
@@ -1155,26 +1224,32 @@ public class Frame implements Copyable {
    * {@link #worldMatrix()}. Use it immediately (as above).
    */
   public final Mat matrix() {
-    Mat pM = new Mat();
+    return matrix(translation(), rotation(), scaling());
+  }
 
-    pM = rotation().matrix();
+  /**
+   * Internal use. Returns the matrix defined by the {@code t} translation, {@code r}
+   * rotation and {@code s} scaling.
+   */
+  protected static Mat matrix(Vec t, Rotation r, float s) {
+    Mat pM = r.matrix();
 
-    pM.mat[12] = translation().vec[0];
-    pM.mat[13] = translation().vec[1];
-    pM.mat[14] = translation().vec[2];
+    pM.mat[12] = t.vec[0];
+    pM.mat[13] = t.vec[1];
+    pM.mat[14] = t.vec[2];
 
-    if (scaling() != 1) {
-      pM.setM00(pM.m00() * scaling());
-      pM.setM10(pM.m10() * scaling());
-      pM.setM20(pM.m20() * scaling());
+    if (s != 1) {
+      pM.setM00(pM.m00() * s);
+      pM.setM10(pM.m10() * s);
+      pM.setM20(pM.m20() * s);
 
-      pM.setM01(pM.m01() * scaling());
-      pM.setM11(pM.m11() * scaling());
-      pM.setM21(pM.m21() * scaling());
+      pM.setM01(pM.m01() * s);
+      pM.setM11(pM.m11() * s);
+      pM.setM21(pM.m21() * s);
 
-      pM.setM02(pM.m02() * scaling());
-      pM.setM12(pM.m12() * scaling());
-      pM.setM22(pM.m22() * scaling());
+      pM.setM02(pM.m02() * s);
+      pM.setM12(pM.m12() * s);
+      pM.setM22(pM.m22() * s);
     }
 
     return pM;
@@ -1200,13 +1275,20 @@ public class Frame implements Copyable {
    * {@link #referenceFrame()}). These two match when the {@link #referenceFrame()} is
    * {@code null}.
    * <p>
+   * The matrix is cached together with the {@link #position()}, {@link #orientation()}
+   * and {@link #magnitude()}, and it's only recomputed when the Frame or one of its
+   * ancestors is {@link #modified()}.
+   * <p>
    * <b>Attention:</b> The result is only valid until the next call to {@link #matrix()}
    * or {@code worldMatrix()}. Use it immediately (as above).
    */
   public final Mat worldMatrix() {
-    if (referenceFrame() != null)
-      return new Frame(position(), orientation(), magnitude()).matrix();
-    else
+    if (referenceFrame() != null) {
+      updateWorldCache();
+      if (cacheMat == null)
+        cacheMat = matrix(cachePos, cacheOrt, cacheMag);
+      return cacheMat.get();
+    } else
       return matrix();
   }
 
@@ -1284,6 +1366,7 @@ public class Frame implements Copyable {
     Vec z = new Vec(r[0][2], r[1][2], r[2][2]);
 
     rotation().fromRotatedBasis(x, y, z);
+    modified();
   }
 
   /**
@@ -1378,14 +1461,29 @@ public class Frame implements Copyable {
    * coordinate system is {@code src} (converts from {@code from} to Frame).
    * <p>
    * {@link #coordinatesOfIn(Vec, Frame)} performs the inverse transformation.
+   *
+   * @see #coordinatesOfFrom(Vec, Frame, Vec)
    */
   public final Vec coordinatesOfFrom(Vec src, Frame from) {
-    if (this == from)
-      return src;
-    else if (referenceFrame() != null)
-      return localCoordinatesOf(referenceFrame().coordinatesOfFrom(src, from));
+    return coordinatesOfFrom(src, from, null);
+  }
+
+  /**
+   * Same as {@link #coordinatesOfFrom(Vec, Frame)}, but the result is stored in
+   * {@code target} (which is then returned) and no temporary object is created. If
+   * {@code target} is null a new Vec is created. {@code src} and {@code target} may be
+   * the same object.
+   */
+  public final Vec coordinatesOfFrom(Vec src, Frame from, Vec target) {
+    if (this == from) {
+      if (target == null)
+        target = new Vec();
+      target.set(src);
+      return target;
+    } else if (referenceFrame() != null)
+      return localCoordinatesOf(referenceFrame().coordinatesOfFrom(src, from, target), target);
     else
-      return localCoordinatesOf(from.inverseCoordinatesOf(src));
+      return localCoordinatesOf(from.inverseCoordinatesOf(src, target), target);
   }
 
   /**
@@ -1393,22 +1491,36 @@ public class Frame implements Copyable {
    * coordinate system is {@code src} (converts from Frame to {@code in}).
    * <p>
    * {@link #coordinatesOfFrom(Vec, Frame)} performs the inverse transformation.
+   *
+   * @see #coordinatesOfIn(Vec, Frame, Vec)
    */
   public final Vec coordinatesOfIn(Vec src, Frame in) {
+    return coordinatesOfIn(src, in, null);
+  }
+
+  /**
+   * Same as {@link #coordinatesOfIn(Vec, Frame)}, but the result is stored in
+   * {@code target} (which is then returned) and no temporary object is created. If
+   * {@code target} is null a new Vec is created. {@code src} and {@code target} may be
+   * the same object.
+   */
+  public final Vec coordinatesOfIn(Vec src, Frame in, Vec target) {
+    if (target == null)
+      target = new Vec();
+    target.set(src);
     Frame fr = this;
-    Vec res = src;
     while ((fr != null) && (fr != in)) {
-      res = fr.localInverseCoordinatesOf(res);
+      fr.localInverseCoordinatesOf(target, target);
       fr = fr.referenceFrame();
     }
 
     if (fr != in)
-      // in was not found in the branch of this, res is now expressed in the
+      // in was not found in the branch of this, target is now expressed in the
       // world
       // coordinate system. Simply convert to in coordinate system.
-      res = in.coordinatesOf(res);
+      in.coordinatesOf(target, target);
 
-    return res;
+    return target;
   }
 
   /**
@@ -1419,9 +1531,22 @@ public class Frame implements Copyable {
    * {@link #localInverseCoordinatesOf(Vec)} performs the inverse conversion.
    *
    * @see #localTransformOf(Vec)
+   * @see #localCoordinatesOf(Vec, Vec)
    */
   public final Vec localCoordinatesOf(Vec src) {
-    return Vec.divide(rotation().inverseRotate(Vec.subtract(src, translation())), scaling());
+    return localCoordinatesOf(src, null);
+  }
+
+  /**
+   * Same as {@link #localCoordinatesOf(Vec)}, but the result is stored in {@code target}
+   * (which is then returned) and no temporary object is created. If {@code target} is
+   * null a new Vec is created. {@code src} and {@code target} may be the same object.
+   */
+  public final Vec localCoordinatesOf(Vec src, Vec target) {
+    target = Vec.subtract(src, translation(), target);
+    inverseRotate(rotation(), target, target);
+    target.divide(scaling());
+    return target;
   }
 
   /**
@@ -1430,12 +1555,63 @@ public class Frame implements Copyable {
    * <p>
    * {@link #inverseCoordinatesOf(Vec)} performs the inverse conversion.
    * {@link #transformOf(Vec)} converts vectors instead of coordinates.
+   *
+   * @see #coordinatesOf(Vec, Vec)
    */
   public final Vec coordinatesOf(Vec src) {
-    if (referenceFrame() != null)
-      return localCoordinatesOf(referenceFrame().coordinatesOf(src));
-    else
-      return localCoordinatesOf(src);
+    return coordinatesOf(src, null);
+  }
+
+  /**
+   * Same as {@link #coordinatesOf(Vec)}, but the result is stored in {@code target}
+   * (which is then returned) and no temporary object is created. If {@code target} is
+   * null a new Vec is created. {@code src} and {@code target} may be the same object.
+   * <p>
+   * The conversion uses the cached world transformation of the Frame (see
+   * {@link #position()}), so it doesn't depend on the Frame hierarchy depth.
+   */
+  public final Vec coordinatesOf(Vec src, Vec target) {
+    updateWorldCache();
+    target = Vec.subtract(src, cachePos, target);
+    inverseRotate(cacheOrt, target, target);
+    target.divide(cacheMag);
+    return target;
+  }
+
+  /**
+   * Batch version of {@link #coordinatesOf(Vec)}: converts the first {@code count} world
+   * points packed in {@code src} as consecutive {@code (x,y,z)} triplets, and stores them
+   * (packed the same way) in {@code dst}, which is then returned. If {@code dst} is null
+   * or shorter than {@code 3 * count} a new array is created. {@code src} and {@code dst}
+   * may be the same array.
+   * <p>
+   * The Frame hierarchy is flattened only once into a single matrix (see
+   * {@link #worldMatrix()}) which is then applied to all the points.
+   *
+   * @see #inverseCoordinatesOf(float[], float[], int)
+   * @see remixlab.dandelion.geom.Mat#multiply(float[], float[], int)
+   */
+  public final float[] coordinatesOf(float[] src, float[] dst, int count) {
+    Mat m = worldMatrix();
+    m.invert();
+    return m.multiply(src, dst, count);
+  }
+
+  /**
+   * Batch version of {@link #inverseCoordinatesOf(Vec)}: converts the first
+   * {@code count} Frame points packed in {@code src} as consecutive {@code (x,y,z)}
+   * triplets to the world, and stores them (packed the same way) in {@code dst}, which is
+   * then returned. If {@code dst} is null or shorter than {@code 3 * count} a new array is
+   * created. {@code src} and {@code dst} may be the same array.
+   * <p>
+   * The Frame hierarchy is flattened only once into a single matrix (see
+   * {@link #worldMatrix()}) which is then applied to all the points.
+   *
+   * @see #coordinatesOf(float[], float[], int)
+   * @see remixlab.dandelion.geom.Mat#multiply(float[], float[], int)
+   */
+  public final float[] inverseCoordinatesOf(float[] src, float[] dst, int count) {
+    return worldMatrix().multiply(src, dst, count);
   }
 
   // VECTOR CONVERSION
@@ -1445,14 +1621,29 @@ public class Frame implements Copyable {
    * coordinate system is {@code src} (converts vectors from {@code from} to Frame).
    * <p>
    * {@link #transformOfIn(Vec, Frame)} performs the inverse transformation.
+   *
+   * @see #transformOfFrom(Vec, Frame, Vec)
    */
   public final Vec transformOfFrom(Vec src, Frame from) {
-    if (this == from)
-      return src;
-    else if (referenceFrame() != null)
-      return localTransformOf(referenceFrame().transformOfFrom(src, from));
+    return transformOfFrom(src, from, null);
+  }
+
+  /**
+   * Same as {@link #transformOfFrom(Vec, Frame)}, but the result is stored in
+   * {@code target} (which is then returned) and no temporary object is created. If
+   * {@code target} is null a new Vec is created. {@code src} and {@code target} may be
+   * the same object.
+   */
+  public final Vec transformOfFrom(Vec src, Frame from, Vec target) {
+    if (this == from) {
+      if (target == null)
+        target = new Vec();
+      target.set(src);
+      return target;
+    } else if (referenceFrame() != null)
+      return localTransformOf(referenceFrame().transformOfFrom(src, from, target), target);
     else
-      return localTransformOf(from.inverseTransformOf(src));
+      return localTransformOf(from.inverseTransformOf(src, target), target);
   }
 
   /**
@@ -1460,21 +1651,35 @@ public class Frame implements Copyable {
    * coordinate system is {@code src} (converts vectors from Frame to {@code in}).
    * <p>
    * {@link #transformOfFrom(Vec, Frame)} performs the inverse transformation.
+   *
+   * @see #transformOfIn(Vec, Frame, Vec)
    */
   public final Vec transformOfIn(Vec src, Frame in) {
+    return transformOfIn(src, in, null);
+  }
+
+  /**
+   * Same as {@link #transformOfIn(Vec, Frame)}, but the result is stored in
+   * {@code target} (which is then returned) and no temporary object is created. If
+   * {@code target} is null a new Vec is created. {@code src} and {@code target} may be
+   * the same object.
+   */
+  public final Vec transformOfIn(Vec src, Frame in, Vec target) {
+    if (target == null)
+      target = new Vec();
+    target.set(src);
     Frame fr = this;
-    Vec res = src;
     while ((fr != null) && (fr != in)) {
-      res = fr.localInverseTransformOf(res);
+      fr.localInverseTransformOf(target, target);
       fr = fr.referenceFrame();
     }
 
     if (fr != in)
-      // in was not found in the branch of this, res is now expressed in
+      // in was not found in the branch of this, target is now expressed in
       // the world coordinate system. Simply convert to in coordinate system.
-      res = in.transformOf(res);
+      in.transformOf(target, target);
 
-    return res;
+    return target;
   }
 
   /**
@@ -1484,9 +1689,23 @@ public class Frame implements Copyable {
    * {@link #localCoordinatesOf(Vec)} performs the inverse conversion.
    *
    * @see #localInverseTransformOf(Vec)
+   * @see #localInverseCoordinatesOf(Vec, Vec)
    */
   public final Vec localInverseCoordinatesOf(Vec src) {
-    return Vec.add(rotation().rotate(Vec.multiply(src, scaling())), translation());
+    return localInverseCoordinatesOf(src, null);
+  }
+
+  /**
+   * Same as {@link #localInverseCoordinatesOf(Vec)}, but the result is stored in
+   * {@code target} (which is then returned) and no temporary object is created. If
+   * {@code target} is null a new Vec is created. {@code src} and {@code target} may be
+   * the same object.
+   */
+  public final Vec localInverseCoordinatesOf(Vec src, Vec target) {
+    target = Vec.multiply(src, scaling(), target);
+    rotate(rotation(), target, target);
+    target.add(translation());
+    return target;
   }
 
   /**
@@ -1495,15 +1714,28 @@ public class Frame implements Copyable {
    * <p>
    * {@link #coordinatesOf(Vec)} performs the inverse conversion. Use
    * {@link #inverseTransformOf(Vec)} to transform vectors instead of coordinates.
+   *
+   * @see #inverseCoordinatesOf(Vec, Vec)
    */
   public final Vec inverseCoordinatesOf(Vec src) {
-    Frame fr = this;
-    Vec res = src;
-    while (fr != null) {
-      res = fr.localInverseCoordinatesOf(res);
-      fr = fr.referenceFrame();
-    }
-    return res;
+    return inverseCoordinatesOf(src, null);
+  }
+
+  /**
+   * Same as {@link #inverseCoordinatesOf(Vec)}, but the result is stored in
+   * {@code target} (which is then returned) and no temporary object is created. If
+   * {@code target} is null a new Vec is created. {@code src} and {@code target} may be
+   * the same object.
+   * <p>
+   * The conversion uses the cached world transformation of the Frame (see
+   * {@link #position()}), so it doesn't depend on the Frame hierarchy depth.
+   */
+  public final Vec inverseCoordinatesOf(Vec src, Vec target) {
+    updateWorldCache();
+    target = Vec.multiply(src, cacheMag, target);
+    rotate(cacheOrt, target, target);
+    target.add(cachePos);
+    return target;
   }
 
   /**
@@ -1513,12 +1745,26 @@ public class Frame implements Copyable {
    * {@link #inverseTransformOf(Vec)} performs the inverse transformation.
    * {@link #coordinatesOf(Vec)} converts coordinates instead of vectors (here only the
    * rotational part of the transformation is taken into account).
+   *
+   * @see #transformOf(Vec, Vec)
    */
   public final Vec transformOf(Vec src) {
-    if (referenceFrame() != null)
-      return localTransformOf(referenceFrame().transformOf(src));
-    else
-      return localTransformOf(src);
+    return transformOf(src, null);
+  }
+
+  /**
+   * Same as {@link #transformOf(Vec)}, but the result is stored in {@code target} (which
+   * is then returned) and no temporary object is created. If {@code target} is null a
+   * new Vec is created. {@code src} and {@code target} may be the same object.
+   * <p>
+   * The conversion uses the cached world transformation of the Frame (see
+   * {@link #position()}), so it doesn't depend on the Frame hierarchy depth.
+   */
+  public final Vec transformOf(Vec src, Vec target) {
+    updateWorldCache();
+    target = inverseRotate(cacheOrt, src, target);
+    target.divide(cacheMag);
+    return target;
   }
 
   /**
@@ -1527,15 +1773,56 @@ public class Frame implements Copyable {
    * <p>
    * {@link #transformOf(Vec)} performs the inverse transformation. Use
    * {@link #inverseCoordinatesOf(Vec)} to transform coordinates instead of vectors.
+   *
+   * @see #inverseTransformOf(Vec, Vec)
    */
   public final Vec inverseTransformOf(Vec src) {
-    Frame fr = this;
-    Vec res = src;
-    while (fr != null) {
-      res = fr.localInverseTransformOf(res);
-      fr = fr.referenceFrame();
-    }
-    return res;
+    return inverseTransformOf(src, null);
+  }
+
+  /**
+   * Same as {@link #inverseTransformOf(Vec)}, but the result is stored in {@code target}
+   * (which is then returned) and no temporary object is created. If {@code target} is
+   * null a new Vec is created. {@code src} and {@code target} may be the same object.
+   * <p>
+   * The conversion uses the cached world transformation of the Frame (see
+   * {@link #position()}), so it doesn't depend on the Frame hierarchy depth.
+   */
+  public final Vec inverseTransformOf(Vec src, Vec target) {
+    updateWorldCache();
+    target = Vec.multiply(src, cacheMag, target);
+    rotate(cacheOrt, target, target);
+    return target;
+  }
+
+  /**
+   * Batch version of {@link #transformOf(Vec)}: converts the first {@code count} world
+   * vectors packed in {@code src} as consecutive {@code (x,y,z)} triplets, and stores them
+   * (packed the same way) in {@code dst}, which is then returned. If {@code dst} is null
+   * or shorter than {@code 3 * count} a new array is created. {@code src} and {@code dst}
+   * may be the same array.
+   *
+   * @see #inverseTransformOf(float[], float[], int)
+   * @see remixlab.dandelion.geom.Mat#multiplyDirections(float[], float[], int)
+   */
+  public final float[] transformOf(float[] src, float[] dst, int count) {
+    Mat m = worldMatrix();
+    m.invert();
+    return m.multiplyDirections(src, dst, count);
+  }
+
+  /**
+   * Batch version of {@link #inverseTransformOf(Vec)}: converts the first {@code count}
+   * Frame vectors packed in {@code src} as consecutive {@code (x,y,z)} triplets to the
+   * world, and stores them (packed the same way) in {@code dst}, which is then returned.
+   * If {@code dst} is null or shorter than {@code 3 * count} a new array is created.
+   * {@code src} and {@code dst} may be the same array.
+   *
+   * @see #transformOf(float[], float[], int)
+   * @see remixlab.dandelion.geom.Mat#multiplyDirections(float[], float[], int)
+   */
+  public final float[] inverseTransformOf(float[] src, float[] dst, int count) {
+    return worldMatrix().multiplyDirections(src, dst, count);
   }
 
   /**
@@ -1546,9 +1833,21 @@ public class Frame implements Copyable {
    * {@link #localInverseTransformOf(Vec)} performs the inverse transformation.
    *
    * @see #localCoordinatesOf(Vec)
+   * @see #localTransformOf(Vec, Vec)
    */
   public final Vec localTransformOf(Vec src) {
-    return Vec.divide(rotation().inverseRotate(src), scaling());
+    return localTransformOf(src, null);
+  }
+
+  /**
+   * Same as {@link #localTransformOf(Vec)}, but the result is stored in {@code target}
+   * (which is then returned) and no temporary object is created. If {@code target} is
+   * null a new Vec is created. {@code src} and {@code target} may be the same object.
+   */
+  public final Vec localTransformOf(Vec src, Vec target) {
+    target = inverseRotate(rotation(), src, target);
+    target.divide(scaling());
+    return target;
   }
 
   /**
@@ -1559,8 +1858,55 @@ public class Frame implements Copyable {
    * {@link #localTransformOf(Vec)} performs the inverse transformation.
    *
    * @see #localInverseCoordinatesOf(Vec)
+   * @see #localInverseTransformOf(Vec, Vec)
    */
   public final Vec localInverseTransformOf(Vec src) {
-    return rotation().rotate(Vec.multiply(src, scaling()));
+    return localInverseTransformOf(src, null);
+  }
+
+  /**
+   * Same as {@link #localInverseTransformOf(Vec)}, but the result is stored in
+   * {@code target} (which is then returned) and no temporary object is created. If
+   * {@code target} is null a new Vec is created. {@code src} and {@code target} may be
+   * the same object.
+   */
+  public final Vec localInverseTransformOf(Vec src, Vec target) {
+    target = Vec.multiply(src, scaling(), target);
+    rotate(rotation(), target, target);
+    return target;
+  }
+
+  /**
+   * Internal use. Stores the image of {@code v} by {@code r} in {@code target}, without
+   * temporaries when {@code r} is a {@link Quat} or a {@link Rot}. The target overloads
+   * aren't part of the {@link Rotation} interface, so that other implementations of it
+   * keep compiling.
+   */
+  protected static Vec rotate(Rotation r, Vec v, Vec target) {
+    if (r instanceof Quat)
+      return ((Quat) r).rotate(v, target);
+    if (r instanceof Rot)
+      return ((Rot) r).rotate(v, target);
+    Vec result = r.rotate(v);
+    if (target == null)
+      return result;
+    target.set(result);
+    return target;
+  }
+
+  /**
+   * Internal use. Same as {@link #rotate(Rotation, Vec, Vec)}, but for the inverse
+   * rotation.
+   */
+  protected static Vec inverseRotate(Rotation r, Vec v, Vec target) {
+    if (r instanceof Quat)
+      return ((Quat) r).inverseRotate(v, target);
+    if (r instanceof Rot)
+      return ((Rot) r).inverseRotate(v, target);
+    Vec result = r.inverseRotate(v);
+    if (target == null)
+      return result;
+    target.set(result);
+    return target;
   }
 }
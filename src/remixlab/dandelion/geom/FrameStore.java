@@ -0,0 +1,620 @@
+/*******************************************************************************
+ * dandelion_tree (version 1.0.0)
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ ******************************************************************************/
+
+package remixlab.dandelion.geom;
+
+import remixlab.util.Util;
+
+import java.util.Arrays;
+
+/**
+ * A data-oriented container of many frames. Instead of keeping a {@link Frame} object
+ * (together with its {@link remixlab.dandelion.geom.Vec} translation and
+ * {@link remixlab.dandelion.geom.Rotation}) per frame, the store keeps the translations,
+ * rotations and scalings of all its frames in contiguous primitive arrays, together with
+ * the index of their parent frame. It is meant for scenes with very large frame
+ * populations (crowds, particles, etc.) that need to update and traverse their
+ * transformations in bulk.
+ * <p>
+ * Frames are identified by the (stable) index returned by {@link #add(int)}. Since a
+ * parent must be added before its children, the store is always in topological order and
+ * the world (global) transformations of all the frames are refreshed in a single
+ * sequential pass (see {@link #update()}). Only the frames whose index is greater than or
+ * equal to the smallest modified one are recomputed.
+ * <p>
+ * Rotations are stored as unit quaternions {@code (x,y,z,w)}, both in 2D and in 3D (2D
+ * rotations being quaternions around the z-axis). Use {@link #view(int)} to get a
+ * lightweight Frame-like object wrapping a given index, or {@link #get(int)} to get a
+ * detached {@link Frame} copy of it.
+ * <p>
+ * Bulk updates may be performed directly on the arrays returned by
+ * {@link #translations()}, {@link #rotations()} and {@link #scalings()}. Call
+ * {@link #modified(int)} afterwards so that the world transformations are refreshed.
+ */
+public class FrameStore {
+  protected boolean three_d;
+  protected int size;
+  protected int[] parent;
+  // local transformations: translation (stride 3), rotation (stride 4) and scaling
+  protected float[] trans;
+  protected float[] rot;
+  protected float[] scl;
+  // world transformations, refreshed from index dirty on by update()
+  protected float[] wtrans;
+  protected float[] wrot;
+  protected float[] wscl;
+  protected int dirty;
+
+  /**
+   * Same as {@code this(three_d, 16)}.
+   *
+   * @see #FrameStore(boolean, int)
+   */
+  public FrameStore(boolean three_d) {
+    this(three_d, 16);
+  }
+
+  /**
+   * Creates an empty 2D or 3D store with room for {@code capacity} frames. The store
+   * grows as needed.
+   */
+  public FrameStore(boolean three_d, int capacity) {
+    this.three_d = three_d;
+    allocate(Math.max(capacity, 1));
+  }
+
+  protected void allocate(int capacity) {
+    if (parent != null && capacity <= parent.length)
+      return;
+    if (parent == null) {
+      parent = new int[capacity];
+      trans = new float[3 * capacity];
+      rot = new float[4 * capacity];
+      scl = new float[capacity];
+      wtrans = new float[3 * capacity];
+      wrot = new float[4 * capacity];
+      wscl = new float[capacity];
+    } else {
+      parent = Arrays.copyOf(parent, capacity);
+      trans = Arrays.copyOf(trans, 3 * capacity);
+      rot = Arrays.copyOf(rot, 4 * capacity);
+      scl = Arrays.copyOf(scl, capacity);
+      wtrans = Arrays.copyOf(wtrans, 3 * capacity);
+      wrot = Arrays.copyOf(wrot, 4 * capacity);
+      wscl = Arrays.copyOf(wscl, capacity);
+    }
+  }
+
+  /**
+   * @return true if the store holds 2D frames.
+   */
+  public boolean is2D() {
+    return !three_d;
+  }
+
+  /**
+   * @return true if the store holds 3D frames.
+   */
+  public boolean is3D() {
+    return three_d;
+  }
+
+  /**
+   * Returns the number of frames in the store.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes all the frames from the store. Previously returned indices and views become
+   * invalid.
+   */
+  public void clear() {
+    size = 0;
+    dirty = 0;
+  }
+
+  /**
+   * Same as {@code return add(-1)}.
+   *
+   * @see #add(int)
+   */
+  public int add() {
+    return add(-1);
+  }
+
+  /**
+   * Adds an identity frame (null translation, identity rotation and unit scaling) whose
+   * parent (i.e., its reference frame) is the frame at index {@code parentIndex}, and
+   * returns its index. Use {@code -1} to define the frame in the world coordinate system.
+   * <p>
+   * The parent should have been added before, so that the store is always kept in
+   * topological order.
+   */
+  public int add(int parentIndex) {
+    if (parentIndex < -1 || parentIndex >= size)
+      throw new RuntimeException("Parent index " + parentIndex + " is not in the store");
+    if (size == parent.length)
+      allocate(2 * size);
+    int i = size++;
+    parent[i] = parentIndex;
+    trans[3 * i] = trans[3 * i + 1] = trans[3 * i + 2] = 0;
+    rot[4 * i] = rot[4 * i + 1] = rot[4 * i + 2] = 0;
+    rot[4 * i + 3] = 1;
+    scl[i] = 1;
+    modified(i);
+    return i;
+  }
+
+  /**
+   * Adds a frame having the same local transformation as {@code frame} and returns its
+   * index. The frame {@link Frame#referenceFrame()} is not taken into account: use
+   * {@code parentIndex} instead.
+   *
+   * @see #add(int)
+   * @see #set(int, Frame)
+   */
+  public int add(int parentIndex, Frame frame) {
+    int i = add(parentIndex);
+    set(i, frame);
+    return i;
+  }
+
+  /**
+   * Returns the index of the parent of the frame at index {@code i}, or {@code -1} if it
+   * is defined in the world coordinate system.
+   */
+  public int parent(int i) {
+    return parent[i];
+  }
+
+  /**
+   * Returns the (packed) array of parent indices. Only its first {@link #size()} entries
+   * are meaningful.
+   */
+  public int[] parents() {
+    return parent;
+  }
+
+  /**
+   * Returns the (packed) local translations array, as consecutive {@code (x,y,z)}
+   * triplets. Only its first {@code 3 * size()} entries are meaningful. Call
+   * {@link #modified(int)} after writing to it.
+   */
+  public float[] translations() {
+    return trans;
+  }
+
+  /**
+   * Returns the (packed) local rotations array, as consecutive unit quaternion
+   * {@code (x,y,z,w)} values. Only its first {@code 4 * size()} entries are meaningful.
+   * Call {@link #modified(int)} after writing to it.
+   */
+  public float[] rotations() {
+    return rot;
+  }
+
+  /**
+   * Returns the local scalings array. Only its first {@link #size()} entries are
+   * meaningful. Call {@link #modified(int)} after writing to it.
+   */
+  public float[] scalings() {
+    return scl;
+  }
+
+  /**
+   * Tells the store the frame at index {@code i} has been modified, so that its world
+   * transformation (and that of all the frames with a greater index) is refreshed on the
+   * next {@link #update()}. Called internally by all setters.
+   */
+  public void modified(int i) {
+    if (i < dirty)
+      dirty = i;
+  }
+
+  /**
+   * Same as {@code modified(0)}.
+   */
+  public void modified() {
+    dirty = 0;
+  }
+
+  /**
+   * Refreshes, in a single sequential pass, the world transformations of the frames that
+   * have been {@link #modified(int)} since the last call. Called lazily by all the world
+   * transformation getters, but it may also be called explicitly once per frame after
+   * bulk updates.
+   */
+  public void update() {
+    for (int i = dirty; i < size; i++) {
+      int p = parent[i];
+      int t = 3 * i, r = 4 * i;
+      if (p == -1) {
+        wtrans[t] = trans[t];
+        wtrans[t + 1] = trans[t + 1];
+        wtrans[t + 2] = trans[t + 2];
+        wrot[r] = rot[r];
+        wrot[r + 1] = rot[r + 1];
+        wrot[r + 2] = rot[r + 2];
+        wrot[r + 3] = rot[r + 3];
+        wscl[i] = scl[i];
+      } else {
+        int pt = 3 * p, pr = 4 * p;
+        float s = wscl[p];
+        float qx = wrot[pr], qy = wrot[pr + 1], qz = wrot[pr + 2], qw = wrot[pr + 3];
+        // position = parent position + parent orientation * (parent magnitude * translation)
+        float vx = s * trans[t], vy = s * trans[t + 1], vz = s * trans[t + 2];
+        float cx = 2 * (qy * vz - qz * vy);
+        float cy = 2 * (qz * vx - qx * vz);
+        float cz = 2 * (qx * vy - qy * vx);
+        wtrans[t] = wtrans[pt] + vx + qw * cx + (qy * cz - qz * cy);
+        wtrans[t + 1] = wtrans[pt + 1] + vy + qw * cy + (qz * cx - qx * cz);
+        wtrans[t + 2] = wtrans[pt + 2] + vz + qw * cz + (qx * cy - qy * cx);
+        // orientation = parent orientation * rotation
+        float x = rot[r], y = rot[r + 1], z = rot[r + 2], w = rot[r + 3];
+        wrot[r] = qw * x + w * qx + qy * z - qz * y;
+        wrot[r + 1] = qw * y + w * qy - qx * z + qz * x;
+        wrot[r + 2] = qw * z + w * qz + qx * y - qy * x;
+        wrot[r + 3] = qw * w - qx * x - qy * y - qz * z;
+        // magnitude = parent magnitude * scaling
+        wscl[i] = s * scl[i];
+      }
+    }
+    dirty = size;
+  }
+
+  // LOCAL TRANSFORMATION
+
+  /**
+   * Returns the local translation of the frame at index {@code i} in {@code target}. If
+   * {@code target} is null a new Vec is created.
+   */
+  public Vec translation(int i, Vec target) {
+    if (target == null)
+      target = new Vec();
+    target.set(trans[3 * i], trans[3 * i + 1], trans[3 * i + 2]);
+    return target;
+  }
+
+  /**
+   * Sets the local translation of the frame at index {@code i}.
+   */
+  public void setTranslation(int i, float x, float y, float z) {
+    trans[3 * i] = x;
+    trans[3 * i + 1] = y;
+    trans[3 * i + 2] = z;
+    modified(i);
+  }
+
+  /**
+   * Same as {@code setTranslation(i, t.x(), t.y(), t.z())}.
+   */
+  public void setTranslation(int i, Vec t) {
+    setTranslation(i, t.vec[0], t.vec[1], t.vec[2]);
+  }
+
+  /**
+   * Translates the frame at index {@code i} by {@code (x,y,z)}, defined in its parent
+   * coordinate system.
+   */
+  public void translate(int i, float x, float y, float z) {
+    trans[3 * i] += x;
+    trans[3 * i + 1] += y;
+    trans[3 * i + 2] += z;
+    modified(i);
+  }
+
+  /**
+   * Returns a new Rotation (a {@link Quat} in 3D or a {@link Rot} in 2D) holding the
+   * local rotation of the frame at index {@code i}.
+   */
+  public Rotation rotation(int i) {
+    return rotation(rot, i);
+  }
+
+  protected Rotation rotation(float[] q, int i) {
+    if (three_d)
+      return new Quat(q[4 * i], q[4 * i + 1], q[4 * i + 2], q[4 * i + 3], false);
+    return new Rot(2 * (float) Math.atan2(q[4 * i + 2], q[4 * i + 3]));
+  }
+
+  /**
+   * Sets the local rotation of the frame at index {@code i} from the {@code (x,y,z,w)}
+   * quaternion, which gets normalized.
+   */
+  public void setRotation(int i, float x, float y, float z, float w) {
+    float n = (float) Math.sqrt(x * x + y * y + z * z + w * w);
+    if (n == 0) {
+      x = y = z = 0;
+      w = n = 1;
+    }
+    rot[4 * i] = x / n;
+    rot[4 * i + 1] = y / n;
+    rot[4 * i + 2] = z / n;
+    rot[4 * i + 3] = w / n;
+    modified(i);
+  }
+
+  /**
+   * Sets the local rotation of the frame at index {@code i} as a rotation of
+   * {@code angle} radians around the z-axis. Meant for 2D stores.
+   */
+  public void setRotation(int i, float angle) {
+    rot[4 * i] = rot[4 * i + 1] = 0;
+    rot[4 * i + 2] = (float) Math.sin(angle / 2);
+    rot[4 * i + 3] = (float) Math.cos(angle / 2);
+    modified(i);
+  }
+
+  /**
+   * Sets the local rotation of the frame at index {@code i}.
+   */
+  public void setRotation(int i, Rotation r) {
+    if (r instanceof Quat) {
+      Quat q = (Quat) r;
+      setRotation(i, q.quat[0], q.quat[1], q.quat[2], q.quat[3]);
+    } else
+      setRotation(i, r.angle());
+  }
+
+  /**
+   * Returns the local scaling of the frame at index {@code i}.
+   */
+  public float scaling(int i) {
+    return scl[i];
+  }
+
+  /**
+   * Sets the local scaling of the frame at index {@code i}. Only positive values are
+   * accepted.
+   */
+  public void setScaling(int i, float s) {
+    if (Util.positive(s)) {
+      scl[i] = s;
+      modified(i);
+    } else
+      System.out.println("Warning. Scaling should be positive. Nothing done");
+  }
+
+  /**
+   * Sets the local transformation of the frame at index {@code i} from that of
+   * {@code frame} (i.e., its {@link Frame#translation()}, {@link Frame#rotation()} and
+   * {@link Frame#scaling()}).
+   */
+  public void set(int i, Frame frame) {
+    setTranslation(i, frame.translation());
+    setRotation(i, frame.rotation());
+    setScaling(i, frame.scaling());
+  }
+
+  // WORLD TRANSFORMATION
+
+  /**
+   * Returns the world position of the frame at index {@code i} in {@code target}. If
+   * {@code target} is null a new Vec is created.
+   *
+   * @see Frame#position()
+   */
+  public Vec position(int i, Vec target) {
+    update();
+    if (target == null)
+      target = new Vec();
+    target.set(wtrans[3 * i], wtrans[3 * i + 1], wtrans[3 * i + 2]);
+    return target;
+  }
+
+  /**
+   * Returns a new Rotation holding the world orientation of the frame at index {@code i}.
+   *
+   * @see Frame#orientation()
+   */
+  public Rotation orientation(int i) {
+    update();
+    return rotation(wrot, i);
+  }
+
+  /**
+   * Returns the world magnitude of the frame at index {@code i}.
+   *
+   * @see Frame#magnitude()
+   */
+  public float magnitude(int i) {
+    update();
+    return wscl[i];
+  }
+
+  /**
+   * Returns the world transformation matrix of the frame at index {@code i} in
+   * {@code target}. If {@code target} is null a new Mat is created.
+   *
+   * @see Frame#worldMatrix()
+   */
+  public Mat worldMatrix(int i, Mat target) {
+    update();
+    if (target == null)
+      target = new Mat();
+    int t = 3 * i, r = 4 * i;
+    float x = wrot[r], y = wrot[r + 1], z = wrot[r + 2], w = wrot[r + 3];
+    float s = wscl[i];
+    target.set(s * (1 - 2 * (y * y + z * z)), s * 2 * (x * y + z * w), s * 2 * (x * z - y * w), 0,
+        s * 2 * (x * y - z * w), s * (1 - 2 * (x * x + z * z)), s * 2 * (y * z + x * w), 0,
+        s * 2 * (x * z + y * w), s * 2 * (y * z - x * w), s * (1 - 2 * (x * x + y * y)), 0,
+        wtrans[t], wtrans[t + 1], wtrans[t + 2], 1);
+    return target;
+  }
+
+  /**
+   * Returns the world coordinates of the point whose coordinates in the frame at index
+   * {@code i} are {@code src}, in {@code target}. If {@code target} is null a new Vec is
+   * created. {@code src} and {@code target} may be the same object.
+   *
+   * @see Frame#inverseCoordinatesOf(Vec, Vec)
+   */
+  public Vec inverseCoordinatesOf(int i, Vec src, Vec target) {
+    update();
+    if (target == null)
+      target = new Vec();
+    int t = 3 * i, r = 4 * i;
+    float s = wscl[i];
+    float qx = wrot[r], qy = wrot[r + 1], qz = wrot[r + 2], qw = wrot[r + 3];
+    float vx = s * src.vec[0], vy = s * src.vec[1], vz = s * src.vec[2];
+    float cx = 2 * (qy * vz - qz * vy);
+    float cy = 2 * (qz * vx - qx * vz);
+    float cz = 2 * (qx * vy - qy * vx);
+    target.set(wtrans[t] + vx + qw * cx + (qy * cz - qz * cy), wtrans[t + 1] + vy + qw * cy + (qz * cx - qx * cz),
+        wtrans[t + 2] + vz + qw * cz + (qx * cy - qy * cx));
+    return target;
+  }
+
+  /**
+   * Returns the coordinates in the frame at index {@code i} of the point whose world
+   * coordinates are {@code src}, in {@code target}. If {@code target} is null a new Vec
+   * is created. {@code src} and {@code target} may be the same object.
+   *
+   * @see Frame#coordinatesOf(Vec, Vec)
+   */
+  public Vec coordinatesOf(int i, Vec src, Vec target) {
+    update();
+    if (target == null)
+      target = new Vec();
+    int t = 3 * i, r = 4 * i;
+    float s = wscl[i];
+    // inverse rotation: conjugate quaternion
+    float qx = -wrot[r], qy = -wrot[r + 1], qz = -wrot[r + 2], qw = wrot[r + 3];
+    float vx = src.vec[0] - wtrans[t], vy = src.vec[1] - wtrans[t + 1], vz = src.vec[2] - wtrans[t + 2];
+    float cx = 2 * (qy * vz - qz * vy);
+    float cy = 2 * (qz * vx - qx * vz);
+    float cz = 2 * (qx * vy - qy * vx);
+    target.set((vx + qw * cx + (qy * cz - qz * cy)) / s, (vy + qw * cy + (qz * cx - qx * cz)) / s,
+        (vz + qw * cz + (qx * cy - qy * cx)) / s);
+    return target;
+  }
+
+  /**
+   * Returns a new (detached) {@link Frame} holding the world transformation of the frame
+   * at index {@code i}, i.e., having a {@code null} {@link Frame#referenceFrame()}.
+   */
+  public Frame get(int i) {
+    return new Frame(position(i, null), orientation(i), magnitude(i));
+  }
+
+  /**
+   * Returns a lightweight {@link View} wrapping the frame at index {@code i}.
+   */
+  public View view(int i) {
+    if (i < 0 || i >= size)
+      throw new RuntimeException("Index " + i + " is not in the store");
+    return new View(i);
+  }
+
+  /**
+   * A lightweight Frame-like view over a {@link FrameStore} entry. It holds no
+   * transformation data by itself (only the store index), so that it may be created and
+   * discarded at will. The method names follow those of {@link Frame}.
+   */
+  public class View {
+    protected int index;
+
+    protected View(int i) {
+      index = i;
+    }
+
+    /**
+     * Returns the index of the wrapped frame in the {@link #store()}.
+     */
+    public int index() {
+      return index;
+    }
+
+    /**
+     * Returns the store the wrapped frame belongs to.
+     */
+    public FrameStore store() {
+      return FrameStore.this;
+    }
+
+    /**
+     * Returns a view of the parent frame, or {@code null} if the frame is defined in the
+     * world coordinate system.
+     *
+     * @see Frame#referenceFrame()
+     */
+    public View referenceFrame() {
+      return parent[index] == -1 ? null : new View(parent[index]);
+    }
+
+    public Vec translation() {
+      return FrameStore.this.translation(index, null);
+    }
+
+    public void setTranslation(float x, float y, float z) {
+      FrameStore.this.setTranslation(index, x, y, z);
+    }
+
+    public void setTranslation(Vec t) {
+      FrameStore.this.setTranslation(index, t);
+    }
+
+    public void translate(float x, float y, float z) {
+      FrameStore.this.translate(index, x, y, z);
+    }
+
+    public Rotation rotation() {
+      return FrameStore.this.rotation(index);
+    }
+
+    public void setRotation(Rotation r) {
+      FrameStore.this.setRotation(index, r);
+    }
+
+    public float scaling() {
+      return FrameStore.this.scaling(index);
+    }
+
+    public void setScaling(float s) {
+      FrameStore.this.setScaling(index, s);
+    }
+
+    public Vec position() {
+      return FrameStore.this.position(index, null);
+    }
+
+    public Rotation orientation() {
+      return FrameStore.this.orientation(index);
+    }
+
+    public float magnitude() {
+      return FrameStore.this.magnitude(index);
+    }
+
+    public Mat worldMatrix() {
+      return FrameStore.this.worldMatrix(index, null);
+    }
+
+    public Vec coordinatesOf(Vec src) {
+      return FrameStore.this.coordinatesOf(index, src, null);
+    }
+
+    public Vec inverseCoordinatesOf(Vec src) {
+      return FrameStore.this.inverseCoordinatesOf(index, src, null);
+    }
+
+    /**
+     * Returns a new (detached) {@link Frame} holding the world transformation of the
+     * wrapped frame.
+     *
+     * @see FrameStore#get(int)
+     */
+    public Frame get() {
+      return FrameStore.this.get(index);
+    }
+  }
+}
@@ -322,6 +322,22 @@ public class Mat implements Linkable {
     set(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1);
   }
 
+  /**
+   * Returns {@code true} if the last row of the matrix is {@code (0,0,0,1)}, i.e., if it
+   * represents an affine transformation such as those defined by
+   * {@link remixlab.dandelion.geom.Frame#matrix()} or
+   * {@link remixlab.dandelion.geom.Frame#worldMatrix()}.
+   * <p>
+   * Matrix composition ({@link #apply(Mat)}, {@link #preApply(Mat)},
+   * {@link #multiply(Mat, Mat, Mat)}) and inversion ({@link #invert()},
+   * {@link #invert(Mat)}) take a cheaper code path when their operands are affine. The
+   * test is performed on the actual matrix entries (and not on a flag), so that it is
+   * always in sync with the (public) {@link #mat} array.
+   */
+  public boolean isAffine() {
+    return mat[3] == 0 && mat[7] == 0 && mat[11] == 0 && mat[15] == 1;
+  }
+
   /**
    * Retubs the matrix contents as a 16 entry float array.
    */
@@ -725,6 +741,11 @@ public class Mat implements Linkable {
    * Define {@code c} as {@code a x b}.
    */
   public static void multiply(Mat a, Mat b, Mat c) {
+    if (a.isAffine() && b.isAffine()) {
+      multiplyAffine(a.mat, b.mat[0], b.mat[1], b.mat[2], b.mat[4], b.mat[5], b.mat[6], b.mat[8], b.mat[9], b.mat[10],
+          b.mat[12], b.mat[13], b.mat[14], c.mat);
+      return;
+    }
     c.mat[0] = a.mat[0] * b.mat[0] + a.mat[4] * b.mat[1] + a.mat[8] * b.mat[2] + a.mat[12] * b.mat[3];
     c.mat[4] = a.mat[0] * b.mat[4] + a.mat[4] * b.mat[5] + a.mat[8] * b.mat[6] + a.mat[12] * b.mat[7];
     c.mat[8] = a.mat[0] * b.mat[8] + a.mat[4] * b.mat[9] + a.mat[8] * b.mat[10] + a.mat[12] * b.mat[11];
@@ -746,12 +767,57 @@ public class Mat implements Linkable {
     c.mat[15] = a.mat[3] * b.mat[12] + a.mat[7] * b.mat[13] + a.mat[11] * b.mat[14] + a.mat[15] * b.mat[15];
   }
 
+  /**
+   * Defines {@code c} as {@code a x b}, where both {@code a} and {@code b} are affine (see
+   * {@link #isAffine()}). {@code b} is given by its upper 3 x 4 (column-major) block. It
+   * takes 36 multiplications instead of the 64 of the general case. {@code c} may be
+   * {@code a}.
+   */
+  protected static void multiplyAffine(float[] a, float b0, float b1, float b2, float b4, float b5, float b6, float b8,
+                                       float b9, float b10, float b12, float b13, float b14, float[] c) {
+    float r00 = a[0] * b0 + a[4] * b1 + a[8] * b2;
+    float r01 = a[0] * b4 + a[4] * b5 + a[8] * b6;
+    float r02 = a[0] * b8 + a[4] * b9 + a[8] * b10;
+    float r03 = a[0] * b12 + a[4] * b13 + a[8] * b14 + a[12];
+
+    float r10 = a[1] * b0 + a[5] * b1 + a[9] * b2;
+    float r11 = a[1] * b4 + a[5] * b5 + a[9] * b6;
+    float r12 = a[1] * b8 + a[5] * b9 + a[9] * b10;
+    float r13 = a[1] * b12 + a[5] * b13 + a[9] * b14 + a[13];
+
+    float r20 = a[2] * b0 + a[6] * b1 + a[10] * b2;
+    float r21 = a[2] * b4 + a[6] * b5 + a[10] * b6;
+    float r22 = a[2] * b8 + a[6] * b9 + a[10] * b10;
+    float r23 = a[2] * b12 + a[6] * b13 + a[10] * b14 + a[14];
+
+    c[0] = r00;
+    c[4] = r01;
+    c[8] = r02;
+    c[12] = r03;
+    c[1] = r10;
+    c[5] = r11;
+    c[9] = r12;
+    c[13] = r13;
+    c[2] = r20;
+    c[6] = r21;
+    c[10] = r22;
+    c[14] = r23;
+    c[3] = 0;
+    c[7] = 0;
+    c[11] = 0;
+    c[15] = 1;
+  }
+
   /**
    * Multiply this matrix by the 16 consecutive values that are used as the elements of a
    * 4 x 4 column-major matrix.
    */
   public void apply(float m0, float m1, float m2, float m3, float m4, float m5, float m6, float m7, float m8, float m9,
                     float m10, float m11, float m12, float m13, float m14, float m15) {
+    if (m3 == 0 && m7 == 0 && m11 == 0 && m15 == 1 && isAffine()) {
+      multiplyAffine(mat, m0, m1, m2, m4, m5, m6, m8, m9, m10, m12, m13, m14, mat);
+      return;
+    }
 
     float r00 = mat[0] * m0 + mat[4] * m1 + mat[8] * m2 + mat[12] * m3;
     float r01 = mat[0] * m4 + mat[4] * m5 + mat[8] * m6 + mat[12] * m7;
@@ -877,6 +943,36 @@ public class Mat implements Linkable {
    */
   public void preApply(float m0, float m1, float m2, float m3, float m4, float m5, float m6, float m7, float m8,
                        float m9, float m10, float m11, float m12, float m13, float m14, float m15) {
+    if (m3 == 0 && m7 == 0 && m11 == 0 && m15 == 1 && isAffine()) {
+      float r00 = m0 * mat[0] + m4 * mat[1] + m8 * mat[2];
+      float r01 = m0 * mat[4] + m4 * mat[5] + m8 * mat[6];
+      float r02 = m0 * mat[8] + m4 * mat[9] + m8 * mat[10];
+      float r03 = m0 * mat[12] + m4 * mat[13] + m8 * mat[14] + m12;
+
+      float r10 = m1 * mat[0] + m5 * mat[1] + m9 * mat[2];
+      float r11 = m1 * mat[4] + m5 * mat[5] + m9 * mat[6];
+      float r12 = m1 * mat[8] + m5 * mat[9] + m9 * mat[10];
+      float r13 = m1 * mat[12] + m5 * mat[13] + m9 * mat[14] + m13;
+
+      float r20 = m2 * mat[0] + m6 * mat[1] + m10 * mat[2];
+      float r21 = m2 * mat[4] + m6 * mat[5] + m10 * mat[6];
+      float r22 = m2 * mat[8] + m6 * mat[9] + m10 * mat[10];
+      float r23 = m2 * mat[12] + m6 * mat[13] + m10 * mat[14] + m14;
+
+      mat[0] = r00;
+      mat[4] = r01;
+      mat[8] = r02;
+      mat[12] = r03;
+      mat[1] = r10;
+      mat[5] = r11;
+      mat[9] = r12;
+      mat[13] = r13;
+      mat[2] = r20;
+      mat[6] = r21;
+      mat[10] = r22;
+      mat[14] = r23;
+      return;
+    }
     float r00 = m0 * mat[0] + m4 * mat[1] + m8 * mat[2] + m12 * mat[3];
     float r01 = m0 * mat[4] + m4 * mat[5] + m8 * mat[6] + m12 * mat[7];
     float r02 = m0 * mat[8] + m4 * mat[9] + m8 * mat[10] + m12 * mat[11];
@@ -1017,6 +1113,58 @@ public class Mat implements Linkable {
     return target;
   }
 
+  /**
+   * Multiply the first {@code count} points packed in the {@code source} array, as
+   * consecutive {@code (x,y,z)} triplets, against this (affine) matrix and stores the
+   * results, packed the same way, in {@code target}, which is then returned. If
+   * {@code target} is null or shorter than {@code 3 * count}, a new float array is
+   * created. {@code source} and {@code target} may be the same array.
+   * <p>
+   * Same as calling {@link #multiply(Vec, Vec)} on each point, but the matrix entries are
+   * read only once and no object is created per point.
+   */
+  public float[] multiply(float[] source, float[] target, int count) {
+    if (target == null || target.length < 3 * count) {
+      target = new float[3 * count];
+    }
+    float m0 = mat[0], m1 = mat[1], m2 = mat[2];
+    float m4 = mat[4], m5 = mat[5], m6 = mat[6];
+    float m8 = mat[8], m9 = mat[9], m10 = mat[10];
+    float m12 = mat[12], m13 = mat[13], m14 = mat[14];
+    for (int i = 0; i < 3 * count; i += 3) {
+      float x = source[i];
+      float y = source[i + 1];
+      float z = source[i + 2];
+      target[i] = m0 * x + m4 * y + m8 * z + m12;
+      target[i + 1] = m1 * x + m5 * y + m9 * z + m13;
+      target[i + 2] = m2 * x + m6 * y + m10 * z + m14;
+    }
+    return target;
+  }
+
+  /**
+   * Same as {@link #multiply(float[], float[], int)} but the packed {@code (x,y,z)}
+   * triplets are treated as vectors (directions), i.e., the translation part of the
+   * matrix is not taken into account.
+   */
+  public float[] multiplyDirections(float[] source, float[] target, int count) {
+    if (target == null || target.length < 3 * count) {
+      target = new float[3 * count];
+    }
+    float m0 = mat[0], m1 = mat[1], m2 = mat[2];
+    float m4 = mat[4], m5 = mat[5], m6 = mat[6];
+    float m8 = mat[8], m9 = mat[9], m10 = mat[10];
+    for (int i = 0; i < 3 * count; i += 3) {
+      float x = source[i];
+      float y = source[i + 1];
+      float z = source[i + 2];
+      target[i] = m0 * x + m4 * y + m8 * z;
+      target[i + 1] = m1 * x + m5 * y + m9 * z;
+      target[i + 2] = m2 * x + m6 * y + m10 * z;
+    }
+    return target;
+  }
+
   /**
    * Transpose this matrix.
    */
@@ -1048,6 +1196,14 @@ public class Mat implements Linkable {
    * {@code m} should be non-null.
    */
   public boolean invert(Mat m) {
+    if (isAffine()) {
+      float determinant = determinant3x3(mat[0], mat[4], mat[8], mat[1], mat[5], mat[9], mat[2], mat[6], mat[10]);
+      if (determinant == 0) {
+        return false;
+      }
+      invertAffine(determinant, m.mat);
+      return true;
+    }
     float determinant = determinant();
     if (determinant == 0) {
       return false;
@@ -1107,6 +1263,14 @@ public class Mat implements Linkable {
    * @return true if successful
    */
   public boolean invert() {
+    if (isAffine()) {
+      float determinant = determinant3x3(mat[0], mat[4], mat[8], mat[1], mat[5], mat[9], mat[2], mat[6], mat[10]);
+      if (Util.zero(determinant)) {
+        return false;
+      }
+      invertAffine(determinant, mat);
+      return true;
+    }
     float determinant = determinant();
     if (Util.zero(determinant)) {
       return false;
@@ -1160,6 +1324,45 @@ public class Mat implements Linkable {
     return true;
   }
 
+  /**
+   * Inverts this affine matrix (see {@link #isAffine()}) into {@code target}, which may be
+   * {@link #mat}. The upper-left 3 x 3 block is inverted from its cofactors (given its
+   * non-null {@code determinant}) and the translation is then mapped by the inverted block
+   * and negated, which is much cheaper than the general 4 x 4 cofactor expansion.
+   */
+  private void invertAffine(float determinant, float[] target) {
+    float i00 = (mat[5] * mat[10] - mat[9] * mat[6]) / determinant;
+    float i01 = (mat[8] * mat[6] - mat[4] * mat[10]) / determinant;
+    float i02 = (mat[4] * mat[9] - mat[8] * mat[5]) / determinant;
+    float i10 = (mat[9] * mat[2] - mat[1] * mat[10]) / determinant;
+    float i11 = (mat[0] * mat[10] - mat[8] * mat[2]) / determinant;
+    float i12 = (mat[8] * mat[1] - mat[0] * mat[9]) / determinant;
+    float i20 = (mat[1] * mat[6] - mat[5] * mat[2]) / determinant;
+    float i21 = (mat[4] * mat[2] - mat[0] * mat[6]) / determinant;
+    float i22 = (mat[0] * mat[5] - mat[4] * mat[1]) / determinant;
+    float tx = mat[12], ty = mat[13], tz = mat[14];
+
+    target[0] = i00;
+    target[4] = i01;
+    target[8] = i02;
+    target[12] = -(i00 * tx + i01 * ty + i02 * tz);
+
+    target[1] = i10;
+    target[5] = i11;
+    target[9] = i12;
+    target[13] = -(i10 * tx + i11 * ty + i12 * tz);
+
+    target[2] = i20;
+    target[6] = i21;
+    target[10] = i22;
+    target[14] = -(i20 * tx + i21 * ty + i22 * tz);
+
+    target[3] = 0;
+    target[7] = 0;
+    target[11] = 0;
+    target[15] = 1;
+  }
+
   /**
    * Calculate the determinant of a 3x3 matrix.
    *
@@ -1174,6 +1377,8 @@ public class Mat implements Linkable {
    * @return the determinant of the matrix
    */
   public float determinant() {
+    if (isAffine())
+      return determinant3x3(mat[0], mat[4], mat[8], mat[1], mat[5], mat[9], mat[2], mat[6], mat[10]);
     float f = mat[0] * ((mat[5] * mat[10] * mat[15] + mat[9] * mat[14] * mat[7] + mat[13] * mat[6] * mat[11])
         - mat[13] * mat[10] * mat[7] - mat[5] * mat[14] * mat[11] - mat[9] * mat[6] * mat[15]);
     f -= mat[4] * ((mat[1] * mat[10] * mat[15] + mat[9] * mat[14] * mat[3] + mat[13] * mat[2] * mat[11])
@@ -560,22 +560,45 @@ public class Quat implements Linkable, Rotation {
    */
   @Override
   public final Vec rotate(Vec v) {
-    float q00 = 2.0f * this.quat[0] * this.quat[0];
-    float q11 = 2.0f * this.quat[1] * this.quat[1];
-    float q22 = 2.0f * this.quat[2] * this.quat[2];
+    return rotate(v, null);
+  }
 
-    float q01 = 2.0f * this.quat[0] * this.quat[1];
-    float q02 = 2.0f * this.quat[0] * this.quat[2];
-    float q03 = 2.0f * this.quat[0] * this.quat[3];
+  /**
+   * Stores the image of {@code v} by the Quat rotation in {@code target}, which is then
+   * returned. If {@code target} is null, a new Vec is created.
+   *
+   * @param v      the Vec
+   * @param target the Vec in which to store the result (may be {@code v})
+   */
+  public final Vec rotate(Vec v, Vec target) {
+    return rotate(this.quat[0], this.quat[1], this.quat[2], this.quat[3], v, target);
+  }
 
-    float q12 = 2.0f * this.quat[1] * this.quat[2];
-    float q13 = 2.0f * this.quat[1] * this.quat[3];
+  /**
+   * Internal use. Stores the image of {@code v} by the {@code (x,y,z,w)} quaternion
+   * rotation in {@code target}. No temporary object is created.
+   */
+  protected static Vec rotate(float x, float y, float z, float w, Vec v, Vec target) {
+    if (target == null)
+      target = new Vec();
 
-    float q23 = 2.0f * this.quat[2] * this.quat[3];
+    float q00 = 2.0f * x * x;
+    float q11 = 2.0f * y * y;
+    float q22 = 2.0f * z * z;
+
+    float q01 = 2.0f * x * y;
+    float q02 = 2.0f * x * z;
+    float q03 = 2.0f * x * w;
+
+    float q12 = 2.0f * y * z;
+    float q13 = 2.0f * y * w;
 
-    return new Vec((1.0f - q11 - q22) * v.vec[0] + (q01 - q23) * v.vec[1] + (q02 + q13) * v.vec[2],
+    float q23 = 2.0f * z * w;
+
+    target.set((1.0f - q11 - q22) * v.vec[0] + (q01 - q23) * v.vec[1] + (q02 + q13) * v.vec[2],
         (q01 + q23) * v.vec[0] + (1.0f - q22 - q00) * v.vec[1] + (q12 - q03) * v.vec[2],
         (q02 - q13) * v.vec[0] + (q12 + q03) * v.vec[1] + (1.0f - q11 - q00) * v.vec[2]);
+    return target;
   }
 
   /**
@@ -587,9 +610,21 @@ public class Quat implements Linkable, Rotation {
    */
   @Override
   public final Vec inverseRotate(Vec v) {
-    Quat tempQuat = new Quat(this.quat[0], this.quat[1], this.quat[2], this.quat[3]);
-    tempQuat.invert();
-    return tempQuat.rotate(v);
+    return inverseRotate(v, null);
+  }
+
+  /**
+   * Stores the image of {@code v} by the Quat {@link #inverse()} rotation in
+   * {@code target}, which is then returned. If {@code target} is null, a new Vec is
+   * created.
+   *
+   * @param v      the Vec
+   * @param target the Vec in which to store the result (may be {@code v})
+   */
+  public final Vec inverseRotate(Vec v, Vec target) {
+    float sqNorm = squaredNorm(this);
+    return rotate(-this.quat[0] / sqNorm, -this.quat[1] / sqNorm, -this.quat[2] / sqNorm, this.quat[3] / sqNorm, v,
+        target);
   }
 
   /**
@@ -84,16 +84,33 @@ public class Rot implements Rotation {
 
   @Override
   public Vec rotate(Vec v) {
-    float cosB = (float) Math.cos(angle());
-    float sinB = (float) Math.sin(angle());
-    return new Vec(((v.x() * cosB) - (v.y() * sinB)), ((v.x() * sinB) + (v.y() * cosB)));
+    return rotate(v, null);
+  }
+
+  public Vec rotate(Vec v, Vec target) {
+    return rotate(angle(), v, target);
   }
 
   @Override
   public Vec inverseRotate(Vec v) {
-    float cosB = (float) Math.cos(-angle());
-    float sinB = (float) Math.sin(-angle());
-    return new Vec(((v.x() * cosB) - (v.y() * sinB)), ((v.x() * sinB) + (v.y() * cosB)));
+    return inverseRotate(v, null);
+  }
+
+  public Vec inverseRotate(Vec v, Vec target) {
+    return rotate(-angle(), v, target);
+  }
+
+  /**
+   * Internal use. Stores the image of {@code v} by the {@code a} angle rotation in
+   * {@code target}. The z coordinate of the result is set to 0.
+   */
+  protected static Vec rotate(float a, Vec v, Vec target) {
+    if (target == null)
+      target = new Vec();
+    float cosB = (float) Math.cos(a);
+    float sinB = (float) Math.sin(a);
+    target.set(((v.x() * cosB) - (v.y() * sinB)), ((v.x() * sinB) + (v.y() * cosB)), 0);
+    return target;
   }
 
   @Override
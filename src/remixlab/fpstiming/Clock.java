@@ -0,0 +1,27 @@
+/**************************************************************************************
+ * fpstiming_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+package remixlab.fpstiming;
+
+/**
+ * Source of time of a {@link TimingHandler}. All the handler timing operations, i.e.,
+ * its frame rate and its sequential timers, are measured with it.
+ *
+ * @see TimingHandler#setClock(Clock)
+ * @see SystemClock
+ * @see VirtualClock
+ */
+public interface Clock {
+  /**
+   * Returns the current time in nanoseconds. The origin is arbitrary, since only time
+   * differences are meaningful, but the returned values should never decrease.
+   */
+  public long nanoTime();
+}
@@ -12,6 +12,13 @@ package remixlab.fpstiming;
 
 /**
  * Sequential timers are single-threaded timers handled by a TimingHandler.
+ * <p>
+ * By default, a timer executes its task at most once per frame, whenever the frame is the
+ * closest one to the task deadline (see {@link #trigggered()}), so that a stalled frame
+ * delays the pending executions. Once the {@link #enableFixedTimestep()} the task is
+ * instead executed once per elapsed period (see {@link #steps()}), so that the
+ * simulation it drives stays deterministic, and the {@link #interpolation()} may be used
+ * to smooth the rendering between its steps.
  */
 public class SeqTimer implements Timer {
   protected Taskable task;
@@ -21,6 +28,13 @@ public class SeqTimer implements Timer {
   private long counter;
   private long prd;
   private long startTime;
+  private boolean fixedTimestep;
+  private int maxSteps = 5;
+  private float alpha;
+  // timing wheel links, see TimingHandler.handle()
+  SeqTimer prev, next;
+  int slot = TimerWheel.NONE;
+  long due;
 
   /**
    * Defines a single shot sequential (single-threaded) timer.
@@ -97,7 +111,9 @@ public class SeqTimer implements Timer {
     inactivate();
     counter = 1;
     active = true;
-    startTime = System.currentTimeMillis();
+    alpha = 0;
+    startTime = handler.millis();
+    schedule();
   }
 
   @Override
@@ -117,6 +133,143 @@ public class SeqTimer implements Timer {
    */
   public void inactivate() {
     active = false;
+    if (slot != TimerWheel.NONE)
+      handler.wheel.unschedule(this);
+  }
+
+  /**
+   * Internal use. Schedules the timer at the handler timing wheel (see
+   * {@link TimingHandler#handle()}), provided that it's the active timer of a registered
+   * task.
+   */
+  void schedule() {
+    if (active && handler != null && handler.isTimerRegistered(this)) {
+      due = startTime + counter * prd;
+      handler.wheel.schedule(this);
+    }
+  }
+
+  /**
+   * Internal use. Called by the handler timing wheel when the timer is due. Same as
+   * {@link #execute()}, but without checking the {@link #trigggered()} condition, which
+   * the wheel already did.
+   */
+  void fire() {
+    if (!active || !handler.isTimerRegistered(this))
+      return;
+    if (fixedTimestep) {
+      // the task may stop or re-run the timer itself between steps
+      for (int steps = steps(); steps > 0 && active && slot == TimerWheel.NONE; steps--) {
+        timingTask().execute();
+        if (runOnlyOnce)
+          inactivate();
+      }
+      if (slot == TimerWheel.NONE)
+        schedule();
+      return;
+    }
+    counter++;
+    timingTask().execute();
+    if (runOnlyOnce)
+      inactivate();
+    else if (slot == TimerWheel.NONE)
+      // the task may have stopped or re-run the timer itself
+      schedule();
+  }
+
+  /**
+   * Makes the timer execute its task once per elapsed period, regardless of the frame
+   * rate. See {@link #steps()}.
+   *
+   * @see #disableFixedTimestep()
+   */
+  public void enableFixedTimestep() {
+    fixedTimestep = true;
+  }
+
+  /**
+   * Makes the timer execute its task at most once per frame (default).
+   *
+   * @see #enableFixedTimestep()
+   */
+  public void disableFixedTimestep() {
+    fixedTimestep = false;
+  }
+
+  /**
+   * Toggles the fixed timestep mode.
+   *
+   * @see #enableFixedTimestep()
+   */
+  public void toggleFixedTimestep() {
+    if (isFixedTimestepEnabled())
+      disableFixedTimestep();
+    else
+      enableFixedTimestep();
+  }
+
+  /**
+   * Returns {@code true} if the timer executes its task once per elapsed period.
+   *
+   * @see #enableFixedTimestep()
+   */
+  public boolean isFixedTimestepEnabled() {
+    return fixedTimestep;
+  }
+
+  /**
+   * Returns the maximum number of steps executed at once in fixed timestep mode. Default
+   * value is 5.
+   *
+   * @see #steps()
+   */
+  public int maxSteps() {
+    return maxSteps;
+  }
+
+  /**
+   * Sets the {@link #maxSteps()}. Should be at least 1.
+   */
+  public void setMaxSteps(int steps) {
+    if (steps < 1) {
+      System.out.println("Warning: maxSteps should be at least 1. Nothing done");
+      return;
+    }
+    maxSteps = steps;
+  }
+
+  /**
+   * Returns the number of steps the task should execute at the current time, i.e., the
+   * number of whole periods elapsed since its last step, and accounts them as executed.
+   * At most {@link #maxSteps()} are returned: the remaining ones are dropped, so that a
+   * long stall (e.g., a slow frame or a paused application) doesn't snowball into even
+   * slower frames.
+   * <p>
+   * <b>Note:</b> You should not call this method since it's done by the timing handler
+   * (see {@link remixlab.fpstiming.TimingHandler#handle()}) when the
+   * {@link #isFixedTimestepEnabled()}.
+   *
+   * @see #interpolation()
+   */
+  public int steps() {
+    if (!active || prd <= 0)
+      return 0;
+    long elapsedTime = handler.millis() - startTime;
+    // counter - 1 steps have been executed so far
+    long due = elapsedTime / prd - (counter - 1);
+    if (due > 0)
+      counter += due;
+    alpha = (float) (elapsedTime - (counter - 1) * prd) / prd;
+    return (int) Math.max(0, Math.min(due, maxSteps));
+  }
+
+  /**
+   * Returns the fraction of the period elapsed since the last step, in [0..1), as of the
+   * last {@link #steps()} call. Use it to interpolate the rendering between the
+   * previous and the current states of the simulation the timer drives.
+   */
+  public float interpolation() {
+    return alpha;
   }
 
   /**
@@ -129,7 +282,7 @@ public class SeqTimer implements Timer {
     if (!active)
       return false;
 
-    long elapsedTime = System.currentTimeMillis() - startTime;
+    long elapsedTime = handler.millis() - startTime;
 
     float timePerFrame = (1 / handler.frameRate()) * 1000;
     long threshold = counter * prd;
@@ -0,0 +1,23 @@
+/**************************************************************************************
+ * fpstiming_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+package remixlab.fpstiming;
+
+/**
+ * The default monotonic and high-resolution wall clock, i.e., {@code System.nanoTime()},
+ * which unlike {@code System.currentTimeMillis()} isn't affected by system time
+ * adjustments.
+ */
+public class SystemClock implements Clock {
+  @Override
+  public long nanoTime() {
+    return System.nanoTime();
+  }
+}
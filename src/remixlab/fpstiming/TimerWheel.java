@@ -0,0 +1,115 @@
+/**************************************************************************************
+ * fpstiming_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+package remixlab.fpstiming;
+
+import java.util.ArrayList;
+
+/**
+ * Internal use. A hashed timing wheel of (active) {@link SeqTimer}s used by the
+ * {@link TimingHandler} to only touch the timers whose deadline has arrived.
+ * <p>
+ * The wheel has one slot per millisecond (modulo its size), each holding a doubly-linked
+ * list of the timers due at that time, so that timers are scheduled and cancelled in
+ * constant time. Each {@link #advance(long)} call only visits the slots elapsed since the
+ * previous one. Timers due more than a wheel revolution ahead simply remain in their slot
+ * until their deadline arrives.
+ */
+class TimerWheel {
+  static final int NONE = -1, FIRED = -2;
+  private static final int SLOTS = 1024, MASK = SLOTS - 1;
+
+  private SeqTimer[] slots = new SeqTimer[SLOTS];
+  // next (millisecond) tick to be visited
+  private long cursor;
+  private int size;
+  // timers whose deadline has arrived, see advance()
+  private ArrayList<SeqTimer> fired = new ArrayList<SeqTimer>();
+
+  TimerWheel(long time) {
+    cursor = time;
+  }
+
+  /**
+   * Returns the number of scheduled timers.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Schedules the timer at its {@code SeqTimer.due} time (or at the next visited tick if
+   * it's already due), rescheduling it if it was already scheduled.
+   */
+  void schedule(SeqTimer timer) {
+    unschedule(timer);
+    int slot = (int) (Math.max(timer.due, cursor) & MASK);
+    timer.prev = null;
+    timer.next = slots[slot];
+    if (slots[slot] != null)
+      slots[slot].prev = timer;
+    slots[slot] = timer;
+    timer.slot = slot;
+    size++;
+  }
+
+  /**
+   * Cancels the timer, if it's scheduled.
+   */
+  void unschedule(SeqTimer timer) {
+    if (timer.slot == FIRED)
+      // its advance() entry is just skipped
+      timer.slot = NONE;
+    if (timer.slot == NONE)
+      return;
+    if (timer.prev != null)
+      timer.prev.next = timer.next;
+    else
+      slots[timer.slot] = timer.next;
+    if (timer.next != null)
+      timer.next.prev = timer.prev;
+    timer.prev = null;
+    timer.next = null;
+    timer.slot = NONE;
+    size--;
+  }
+
+  /**
+   * Fires all the timers due before the {@code horizon} time (in milliseconds). Fired
+   * timers are removed from the wheel before any of them is fired, so that they may be
+   * (re)scheduled or cancelled while firing.
+   */
+  void advance(long horizon) {
+    if (size > 0) {
+      long ticks = Math.min(horizon - cursor, SLOTS);
+      for (long tick = cursor; tick < cursor + ticks; tick++) {
+        SeqTimer timer = slots[(int) (tick & MASK)], next;
+        for (; timer != null; timer = next) {
+          next = timer.next;
+          if (timer.due < horizon) {
+            unschedule(timer);
+            timer.slot = FIRED;
+            fired.add(timer);
+          }
+        }
+      }
+    }
+    cursor = Math.max(cursor, horizon);
+    for (int i = 0; i < fired.size(); i++) {
+      SeqTimer timer = fired.get(i);
+      // a timer cancelled (or rescheduled) by a previously fired one is skipped
+      if (timer.slot == FIRED) {
+        timer.slot = NONE;
+        timer.fire();
+      }
+    }
+    fired.clear();
+  }
+}
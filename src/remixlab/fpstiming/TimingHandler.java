@@ -11,6 +11,7 @@
 package remixlab.fpstiming;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 
 /**
  * A timing handler holds a {@link #timerPool()} and an {@link #animatorPool()}. The timer
@@ -22,6 +23,14 @@ import java.util.ArrayList;
 public class TimingHandler {
   // T i m e r P o o l
   protected ArrayList<TimingTask> tPool;
+  // task indices within the tPool
+  protected IdentityHashMap<TimingTask, Integer> tIndex;
+  // active sequential timers of the registered tasks
+  TimerWheel wheel;
+  protected Clock clock;
+  // origin of the handler time, see nanoTime()
+  protected long startNanos;
+  protected long frameRateLastNanos;
   protected long frameRateLastMillis;
   public float frameRate;
   protected long fCount;
@@ -33,10 +42,21 @@ public class TimingHandler {
    * Main constructor.
    */
   public TimingHandler() {
+    this(new SystemClock());
+  }
+
+  /**
+   * Constructor that takes the handler {@link #clock()}.
+   */
+  public TimingHandler(Clock clock) {
     fCount = 0;
     frameRate = 10;
-    frameRateLastMillis = System.currentTimeMillis();
+    this.clock = clock;
+    startNanos = clock.nanoTime();
+    frameRateLastMillis = millis();
     tPool = new ArrayList<TimingTask>();
+    tIndex = new IdentityHashMap<TimingTask, Integer>();
+    wheel = new TimerWheel(frameRateLastMillis);
     aPool = new ArrayList<Animator>();
   }
 
@@ -53,24 +73,86 @@ public class TimingHandler {
    * the following: 1. Recomputes the frame rate; 2. Executes the all timers (those in the
    * {@link #timerPool()}) callback functions; and, 3. Performs all the animated objects
    * (those in the {@link #animatorPool()}) animation functions.
+   * <p>
+   * Active sequential timers are kept in a timing wheel sorted by deadline, so that only
+   * those being due are touched (instead of polling all of them). A timer is due when its
+   * deadline is closer to the current frame than to the next one, i.e., when it's less
+   * than half a frame ahead, which is the {@link SeqTimer#trigggered()} condition.
+   * <p>
+   * Timers having their {@link SeqTimer#isFixedTimestepEnabled()} execute instead as many
+   * steps as whole periods have elapsed (see {@link SeqTimer#steps()}).
    */
   public void handle() {
     updateFrameRate();
-    for (TimingTask task : tPool)
-      if (task.timer() != null)
-        if (task.timer() instanceof SeqTimer)
-          if (((SeqTimer) task.timer()).timingTask() != null)
-            ((SeqTimer) task.timer()).execute();
+    wheel.advance(frameRateLastMillis + (long) (500 / frameRate()));
     // Animation
     for (Animator aObj : aPool)
-      if (aObj.animationStarted())
-        if (aObj.timer().trigggered())
-          if (!aObj.invokeAnimationHandler())
-            aObj.animate();
+      if (aObj.animationStarted()) {
+        if (aObj.timer().isFixedTimestepEnabled()) {
+          for (int steps = aObj.timer().steps(); steps > 0; steps--)
+            animate(aObj);
+        } else if (aObj.timer().trigggered())
+          animate(aObj);
+      }
+  }
+
+  protected void animate(Animator aObj) {
+    if (!aObj.invokeAnimationHandler())
+      aObj.animate();
+  }
+
+  /**
+   * Returns the clock all the handler timing operations are measured with. Default is a
+   * {@link SystemClock}.
+   *
+   * @see #setClock(Clock)
+   */
+  public Clock clock() {
+    return clock;
+  }
+
+  /**
+   * Sets the {@link #clock()}, e.g., a {@link VirtualClock} to render animations offline.
+   * The handler time (see {@link #nanoTime()}) carries on from its current value, so that
+   * running timers aren't disturbed by the switch.
+   * <p>
+   * Note that only the sequential timers (see {@link SeqTimer}) follow the handler clock.
+   */
+  public void setClock(Clock clock) {
+    if (clock == null) {
+      System.out.println("Warning: null clock. Nothing done");
+      return;
+    }
+    startNanos = clock.nanoTime() - nanoTime();
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the current handler time, in nanoseconds, according to its {@link #clock()}.
+   * Its origin is the handler instantiation, so that only time differences are
+   * meaningful. All the handler timing operations are measured with it.
+   *
+   * @see #millis()
+   */
+  public long nanoTime() {
+    return clock.nanoTime() - startNanos;
+  }
+
+  /**
+   * Same as {@code nanoTime() / 1000000}, i.e., the current handler time in
+   * milliseconds.
+   *
+   * @see #nanoTime()
+   */
+  public long millis() {
+    return nanoTime() / 1000000;
   }
 
   /**
    * Returns the timer pool.
+   * <p>
+   * Since tasks may be (un)registered from other threads, hold the handler lock (i.e.,
+   * {@code synchronized (timingHandler) { ... }}) while iterating it.
    */
   public ArrayList<TimingTask> timerPool() {
     return tPool;
@@ -80,16 +162,27 @@ public class TimingHandler {
    * Register a task in the timer pool and creates a sequential timer for it.
    */
   public void registerTask(TimingTask task) {
-    task.setTimer(new SeqTimer(this, task));
-    tPool.add(task);
+    registerTask(task, new SeqTimer(this, task));
   }
 
   /**
    * Register a task in the timer pool with the given timer.
+   * <p>
+   * Tasks may be (un)registered from other threads, e.g., by a task stopping itself from
+   * a non-sequential timer thread. Callers needing to check and register a task (or to
+   * stop and unregister it) atomically should hold the handler lock, e.g.,
+   * {@code synchronized (timingHandler) { if (!isTaskRegistered(task)) ... }}.
    */
-  public void registerTask(TimingTask task, Timer timer) {
+  public synchronized void registerTask(TimingTask task, Timer timer) {
+    if (task.timer() != timer && task.timer() instanceof SeqTimer)
+      wheel.unschedule((SeqTimer) task.timer());
     task.setTimer(timer);
-    tPool.add(task);
+    if (!tIndex.containsKey(task)) {
+      tIndex.put(task, tPool.size());
+      tPool.add(task);
+    }
+    if (timer instanceof SeqTimer)
+      ((SeqTimer) timer).schedule();
   }
 
   /**
@@ -98,23 +191,43 @@ public class TimingHandler {
    * @see #unregisterTask(TimingTask)
    */
   public void unregisterTask(SeqTimer t) {
-    tPool.remove(t.timingTask());
+    if (t.timingTask() instanceof TimingTask)
+      unregisterTask((TimingTask) t.timingTask());
   }
 
   /**
-   * Unregisters the timer task.
+   * Unregisters the timer task. Takes constant time, but the order of the remaining tasks
+   * in the {@link #timerPool()} may change.
    *
    * @see #unregisterTask(SeqTimer)
    */
-  public void unregisterTask(TimingTask task) {
-    tPool.remove(task);
+  public synchronized void unregisterTask(TimingTask task) {
+    Integer index = tIndex.remove(task);
+    if (index == null)
+      return;
+    TimingTask last = tPool.remove(tPool.size() - 1);
+    if (last != task) {
+      tPool.set(index, last);
+      tIndex.put(last, index);
+    }
+    if (task.timer() instanceof SeqTimer)
+      wheel.unschedule((SeqTimer) task.timer());
   }
 
   /**
    * Returns {@code true} if the task is registered and {@code false} otherwise.
    */
-  public boolean isTaskRegistered(TimingTask task) {
-    return tPool.contains(task);
+  public synchronized boolean isTaskRegistered(TimingTask task) {
+    return tIndex.containsKey(task);
+  }
+
+  /**
+   * Returns {@code true} if {@code timer} is the timer of a registered task, i.e., if the
+   * timer should be run by this handler.
+   */
+  synchronized boolean isTimerRegistered(SeqTimer timer) {
+    return timer.timingTask() instanceof TimingTask && tIndex.containsKey(timer.timingTask())
+        && ((TimingTask) timer.timingTask()).timer() == timer;
   }
 
   /**
@@ -123,14 +236,15 @@ public class TimingHandler {
    * all timing operations.
    */
   protected void updateFrameRate() {
-    long now = System.currentTimeMillis();
-    if (fCount > 1) {
+    long now = nanoTime();
+    // a (virtual) clock may not have advanced since the previous frame
+    if (fCount > 1 && now > frameRateLastNanos) {
       // update the current frameRate
-      double rate = 1000.0 / ((now - frameRateLastMillis) / 1000.0);
-      float instantaneousRate = (float) rate / 1000.0f;
+      float instantaneousRate = 1e9f / (now - frameRateLastNanos);
       frameRate = (frameRate * 0.9f) + (instantaneousRate * 0.1f);
     }
-    frameRateLastMillis = now;
+    frameRateLastNanos = now;
+    frameRateLastMillis = now / 1000000;
     fCount++;
   }
 
@@ -153,7 +267,7 @@ public class TimingHandler {
   /**
    * Converts all registered timers to single-threaded timers.
    */
-  public void restoreTimers() {
+  public synchronized void restoreTimers() {
     boolean isActive;
 
     for (TimingTask task : tPool) {
@@ -0,0 +1,80 @@
+/**************************************************************************************
+ * fpstiming_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+package remixlab.fpstiming;
+
+/**
+ * A clock whose time only advances when it's explicitly stepped, e.g., once per frame,
+ * no matter how long the frame actually takes. Set it as the
+ * {@link TimingHandler#setClock(Clock)} to render animations offline (faster or slower
+ * than real time), or to run timing-dependent code reproducibly.
+ * <p>
+ * Typical use, to render an animation at 30 fps regardless of the actual frame rate:
+ * <p>
+ * {@code VirtualClock clock = new VirtualClock();}<br>
+ * {@code timingHandler.setClock(clock);}<br>
+ * {@code // then, once per frame, before the timing handler is handled:}<br>
+ * {@code clock.stepFrame(30);}<br>
+ */
+public class VirtualClock implements Clock {
+  protected long time;
+
+  /**
+   * Creates a clock whose time is 0.
+   */
+  public VirtualClock() {
+  }
+
+  /**
+   * Creates a clock at the given time (in nanoseconds).
+   */
+  public VirtualClock(long nanos) {
+    time = nanos;
+  }
+
+  @Override
+  public long nanoTime() {
+    return time;
+  }
+
+  /**
+   * Advances the clock {@code nanos} nanoseconds. Should be non-negative.
+   */
+  public void step(long nanos) {
+    if (nanos < 0) {
+      System.out.println("Warning: a clock can't go backwards. Nothing done");
+      return;
+    }
+    time += nanos;
+  }
+
+  /**
+   * Same as {@code step(millis * 1000000)}.
+   *
+   * @see #step(long)
+   */
+  public void stepMillis(long millis) {
+    step(millis * 1000000);
+  }
+
+  /**
+   * Advances the clock the duration of a frame at the given frame rate, i.e.,
+   * {@code 1 / frameRate} seconds.
+   *
+   * @see #step(long)
+   */
+  public void stepFrame(float frameRate) {
+    if (frameRate <= 0) {
+      System.out.println("Warning: frameRate should be positive. Nothing done");
+      return;
+    }
+    step((long) (1e9 / frameRate));
+  }
+}
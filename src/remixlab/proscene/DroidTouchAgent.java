@@ -12,9 +12,13 @@ package remixlab.proscene;
 
 import processing.core.PApplet;
 import remixlab.bias.Agent;
+import remixlab.bias.BogusEvent;
+import remixlab.bias.Grabber;
 import remixlab.bias.event.*;
 import remixlab.proscene.TouchProcessor.Gestures;
 
+import java.util.List;
+
 /**
  * Proscene Android touch-agent. A Processing fully fledged touch
  * {@link Agent}.
@@ -65,6 +69,17 @@ public class DroidTouchAgent extends Agent {
     return scene;
   }
 
+  /**
+   * Only the grabbers lying around the pointer are queried when picking. Same as
+   * {@code return scene().pickingCandidates(this, event)}.
+   *
+   * @see remixlab.dandelion.core.AbstractScene#pickingCandidates(Agent, BogusEvent)
+   */
+  @Override
+  protected List<Grabber> candidateGrabbers(BogusEvent event) {
+    return scene().pickingCandidates(this, event);
+  }
+
   public void touchEvent(android.view.MotionEvent e) {
     // TODO debug
     if (e == null) {
@@ -35,9 +35,12 @@ import remixlab.dandelion.core.GenericFrame;
 import remixlab.dandelion.geom.Frame;
 import remixlab.dandelion.geom.Vec;
 import remixlab.util.EqualsBuilder;
+import remixlab.util.MethodInvocation;
 import remixlab.util.HashCodeBuilder;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A Processing {@link remixlab.dandelion.core.GenericFrame} with a {@link Profile}
@@ -274,11 +277,7 @@ public class InteractiveFrame extends GenericFrame {
     pShape = new Shape(this);
     highlight = HighlightingMode.FRONT_SHAPE;
     profile = new Profile(this);
-    if (Scene.platform() == Platform.PROCESSING_DESKTOP)
-      setDefaultMouseBindings();
-    else
-      setDefaultTouchBindings();
-    setDefaultKeyBindings();
+    setDefaultProfile();
   }
 
   protected void init(GenericFrame referenceFrame) {
@@ -288,12 +287,30 @@ public class InteractiveFrame extends GenericFrame {
     profile = new Profile(this);
     if (referenceFrame instanceof InteractiveFrame)
       this.profile.set(((InteractiveFrame) referenceFrame).profile);
-    else {
-      if (Scene.platform() == Platform.PROCESSING_DESKTOP)
-        setDefaultMouseBindings();
-      else
-        setDefaultTouchBindings();
-      setDefaultKeyBindings();
+    else
+      setDefaultProfile();
+  }
+
+  /**
+   * Sets the default mouse (or touch) and key bindings. These are computed only for the
+   * first (non-eye) frame of a given class, all the other frames of the same class sharing
+   * them (see {@link Profile#set(Profile)}) until they customize their own.
+   */
+  protected void setDefaultProfile() {
+    Profile defaults = isEyeFrame() ? null : scene().frameProfiles.get(getClass());
+    if (defaults != null) {
+      profile.set(defaults);
+      return;
+    }
+    if (Scene.platform() == Platform.PROCESSING_DESKTOP)
+      setDefaultMouseBindings();
+    else
+      setDefaultTouchBindings();
+    setDefaultKeyBindings();
+    if (!isEyeFrame()) {
+      // kept apart from (and shared with) the frame profile which may be customized later,
+      // without keeping this frame alive
+      scene().frameProfiles.put(getClass(), profile.snapshot());
     }
   }
 
@@ -1012,6 +1029,8 @@ public class InteractiveFrame extends GenericFrame {
    * {@code public boolean checkIfGrabsInput(InteractiveFrame, CustomEvent)} as method
    * prototype. If it doesn't find it there, looks for the condition at this instance,
    * with a similar method prototype, but without the InteractiveFrame parameter.
+   * The condition is only looked up once per frame class and event class (see
+   * {@link #pickingCondition(Class)}).
    * You don't need to call this. Automatically called by agents handling this frame.
    * <p>
    * <b>Note: </b> Call {@link #supercheckIfGrabsInput(BogusEvent)} at your
@@ -1022,32 +1041,76 @@ public class InteractiveFrame extends GenericFrame {
    */
   @Override
   public boolean checkIfGrabsInput(BogusEvent event) {
-    Method mth = null;
-    Object obj = scene().pApplet();
-    boolean frameParam = false;
-    // 1. Retrieving
+    PickingCondition condition = pickingCondition(event.getClass());
+    if (condition.method == null)
+      return false;
+    return condition.invoke(this, event);
+  }
+
+  /**
+   * A picking condition method, resolved by {@link #pickingCondition(Class)}.
+   */
+  protected static class PickingCondition {
+    protected Class<?> sketchClass;
+    protected Method method;
+    protected boolean frameParam;
+    // arguments: [frame,] event
+    protected MethodInvocation invocation;
+
+    /**
+     * Invokes the condition {@link #method} on the {@code frame} (or on its sketch if the
+     * method takes the frame as a parameter) without allocating its arguments.
+     */
+    protected boolean invoke(InteractiveFrame frame, BogusEvent event) {
+      try {
+        if (frameParam)
+          return (Boolean) invocation.invoke(frame.scene().pApplet(), frame, event);
+        else
+          return (Boolean) invocation.invoke(frame, event, null);
+      } catch (Exception e) {
+        PApplet.println("Error: no picking condition found");
+        e.printStackTrace();
+        return false;
+      }
+    }
+  }
+
+  // picking conditions per frame class and event class, see pickingCondition()
+  private static Map<Class<?>, Map<Class<?>, PickingCondition>> pickingConditions = new HashMap<Class<?>, Map<Class<?>, PickingCondition>>();
+
+  /**
+   * Returns the {@link #checkIfGrabsInput(BogusEvent)} picking condition method for the
+   * given {@code eventClass}, either at the {@link Scene#pApplet()} or at this frame
+   * class. Since classes don't change at run time, the method is only looked up the first
+   * time a (frame class, event class) pair is queried, and it's then cached (even when
+   * it's not found, so that the lookup exceptions are only thrown once).
+   */
+  protected PickingCondition pickingCondition(Class<?> eventClass) {
+    Map<Class<?>, PickingCondition> conditions = pickingConditions.get(getClass());
+    if (conditions == null) {
+      conditions = new HashMap<Class<?>, PickingCondition>();
+      pickingConditions.put(getClass(), conditions);
+    }
+    Class<?> sketchClass = scene().pApplet().getClass();
+    PickingCondition condition = conditions.get(eventClass);
+    if (condition != null && condition.sketchClass == sketchClass)
+      return condition;
+    condition = new PickingCondition();
+    condition.sketchClass = sketchClass;
     try {
-      mth = obj.getClass().getMethod("checkIfGrabsInput", new Class<?>[]{InteractiveFrame.class, event.getClass()});
-      frameParam = true;
+      condition.method = sketchClass.getMethod("checkIfGrabsInput", new Class<?>[]{InteractiveFrame.class, eventClass});
+      condition.frameParam = true;
     } catch (Exception e1) {
-      obj = this;
       try {
-        mth = obj.getClass().getMethod("checkIfGrabsInput", new Class<?>[]{event.getClass()});
+        condition.method = getClass().getMethod("checkIfGrabsInput", new Class<?>[]{eventClass});
       } catch (Exception e2) {
-        PApplet.println("Error: no picking condition for " + event.getClass().getName());
+        PApplet.println("Error: no picking condition for " + eventClass.getName());
       }
     }
-    // 2. Invocation
-    try {
-      if (frameParam)
-        return (boolean) mth.invoke(obj, new Object[]{this, event});
-      else
-        return (boolean) mth.invoke(obj, new Object[]{event});
-    } catch (Exception e) {
-      PApplet.println("Error: no picking condition found");
-      e.printStackTrace();
-    }
-    return false;
+    if (condition.method != null)
+      condition.invocation = new MethodInvocation(condition.method);
+    conditions.put(eventClass, condition);
+    return condition;
   }
 
   /**
@@ -1078,13 +1141,30 @@ public class InteractiveFrame extends GenericFrame {
   }
 
   /**
-   * Same as {@code return profile.hasBinding(event.shortcut())}.
+   * Returns {@code false} if the frame is picked with the
+   * {@link remixlab.proscene.Scene#pickingBuffer()} (see
+   * {@link #checkIfGrabsInput(float, float)}), or if either the sketch or this class
+   * declare a custom {@code checkIfGrabsInput} method. Returns {@code true} otherwise.
+   *
+   * @see #checkIfGrabsInput(BogusEvent)
+   */
+  @Override
+  public boolean hasDefaultPickingCondition() {
+    if (isEyeFrame() || declaresPickingCondition(getClass(), InteractiveFrame.class))
+      return false;
+    if (pickingPrecision() == PickingPrecision.EXACT && !pShape.isReset() && scene().isPickingBufferEnabled())
+      return false;
+    return !declaresPickingCondition(scene().pApplet().getClass(), PApplet.class);
+  }
+
+  /**
+   * Same as {@code return profile.hasBinding(event)}.
    *
    * @see remixlab.proscene.KeyAgent#keyEvent(processing.event.KeyEvent)
    */
   @Override
   public boolean checkIfGrabsInput(KeyboardEvent event) {
-    return profile.hasBinding(event.shortcut());
+    return profile.hasBinding(event);
   }
 
   /**
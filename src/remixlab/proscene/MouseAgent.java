@@ -12,8 +12,11 @@ package remixlab.proscene;
 
 import remixlab.bias.Agent;
 import remixlab.bias.BogusEvent;
+import remixlab.bias.Grabber;
 import remixlab.bias.event.*;
 
+import java.util.List;
+
 /**
  * Proscene mouse-agent. A Processing fully fledged mouse
  * {@link Agent}.
@@ -32,6 +35,7 @@ public class MouseAgent extends Agent {
       .registerID(RIGHT_ID, "RIGHT"), CENTER_CLICK_ID = ClickShortcut.registerID(CENTER_ID, "CENTER");
   protected float xSens = 1f;
   protected float ySens = 1f;
+  protected float[] sens = {1f, 1f, 1f, 1f, 1f, 1f};
   protected Scene scene;
   protected DOF2Event currentEvent, prevEvent;
   protected boolean move, press, drag, release;
@@ -61,6 +65,17 @@ public class MouseAgent extends Agent {
     return scene;
   }
 
+  /**
+   * Only the grabbers lying around the pointer are queried when picking. Same as
+   * {@code return scene().pickingCandidates(this, event)}.
+   *
+   * @see remixlab.dandelion.core.AbstractScene#pickingCandidates(Agent, BogusEvent)
+   */
+  @Override
+  protected List<Grabber> candidateGrabbers(BogusEvent event) {
+    return scene().pickingCandidates(this, event);
+  }
+
   /**
    * Sets the agent {@link #pickingMode()}. Either {@link PickingMode#MOVE} or
    * {@link PickingMode#CLICK}.
@@ -89,22 +104,51 @@ public class MouseAgent extends Agent {
     press = e.getAction() == processing.event.MouseEvent.PRESS;
     drag = e.getAction() == processing.event.MouseEvent.DRAG;
     release = e.getAction() == processing.event.MouseEvent.RELEASE;
+    // the currentEvent and prevEvent are owned by the agent (e.g., the scene reads the
+    // currentEvent to draw the visual hints), while the handled events are recyclable
+    // copies (see InputHandler.enableEventPooling()) which aren't referenced once handled
     if (move || press || drag || release) {
-      currentEvent = new DOF2Event(prevEvent, e.getX() - scene.originCorner().x(), e.getY() - scene.originCorner().y(),
-          e.getModifiers(), move ? BogusEvent.NO_ID : e.getButton());
+      float x = e.getX() - scene.originCorner().x();
+      float y = e.getY() - scene.originCorner().y();
+      int id = move ? BogusEvent.NO_ID : e.getButton();
+      if (currentEvent == null)
+        currentEvent = new DOF2Event(prevEvent, x, y, e.getModifiers(), id);
+      else
+        currentEvent.set(prevEvent, x, y, e.getModifiers(), id);
       if (move && (pickingMode() == PickingMode.MOVE))
         updateTrackedGrabber(currentEvent);
-      handle(press ? currentEvent.fire() : release ? currentEvent.flush() : currentEvent);
-      prevEvent = currentEvent.get();
+      if (prevEvent == null)
+        prevEvent = currentEvent.get();
+      else
+        prevEvent.set(currentEvent);
+      DOF2Event event = inputHandler().recycledEvent(DOF2Event.class);
+      if (event == null) {
+        event = currentEvent.get();
+        event.setRecyclable(true);
+      } else
+        event.set(currentEvent);
+      handle(press ? event.fire() : release ? event.flush() : event);
       return;
     }
     if (e.getAction() == processing.event.MouseEvent.WHEEL) {
-      handle(new DOF1Event(e.getCount(), e.getModifiers(), WHEEL_ID));
+      DOF1Event wheelEvent = inputHandler().recycledEvent(DOF1Event.class);
+      if (wheelEvent == null) {
+        wheelEvent = new DOF1Event(e.getCount(), e.getModifiers(), WHEEL_ID);
+        wheelEvent.setRecyclable(true);
+      } else
+        wheelEvent.set(e.getCount(), e.getModifiers(), WHEEL_ID);
+      handle(wheelEvent);
       return;
     }
     if (e.getAction() == processing.event.MouseEvent.CLICK) {
-      ClickEvent bogusClickEvent = new ClickEvent(e.getX() - scene.originCorner().x(), e.getY() - scene.originCorner().y(),
-          e.getModifiers(), e.getButton(), e.getCount());
+      float x = e.getX() - scene.originCorner().x();
+      float y = e.getY() - scene.originCorner().y();
+      ClickEvent bogusClickEvent = inputHandler().recycledEvent(ClickEvent.class);
+      if (bogusClickEvent == null) {
+        bogusClickEvent = new ClickEvent(x, y, e.getModifiers(), e.getButton(), e.getCount());
+        bogusClickEvent.setRecyclable(true);
+      } else
+        bogusClickEvent.set(x, y, e.getModifiers(), e.getButton(), e.getCount());
       if (pickingMode() == PickingMode.CLICK)
         updateTrackedGrabber(bogusClickEvent);
       handle(bogusClickEvent);
@@ -114,9 +158,11 @@ public class MouseAgent extends Agent {
 
   @Override
   public float[] sensitivities(MotionEvent event) {
-    if (event instanceof DOF2Event)
-      return new float[]{xSens, ySens, 1f, 1f, 1f, 1f};
-    else
+    if (event instanceof DOF2Event) {
+      sens[0] = xSens;
+      sens[1] = ySens;
+      return sens;
+    } else
       return super.sensitivities(event);
   }
 
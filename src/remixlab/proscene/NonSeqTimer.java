@@ -13,17 +13,33 @@ package remixlab.proscene;
 import remixlab.fpstiming.Taskable;
 import remixlab.fpstiming.Timer;
 
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
- * Non-seq timer based on java.util.Timer and java.util.TimerTask.
+ * Non-seq timer whose task is scheduled onto a single {@code ScheduledThreadPoolExecutor}
+ * shared by all the non-seq timers, instead of spawning a {@code java.util.Timer} thread
+ * per timer.
+ * <p>
+ * If the {@link Scene#isTimerHandOffEnabled()} the executor thread doesn't execute the
+ * task but hands it off to the animation thread, where it's executed at the next
+ * {@link Scene#preDraw()}.
  */
 class NonSeqTimer implements Timer {
+  private static ScheduledThreadPoolExecutor executor;
+
   Scene scene;
-  java.util.Timer timer;
-  java.util.TimerTask timerTask;
+  ScheduledFuture<?> future;
+  Runnable runnable;
   Taskable tmnTask;
   boolean runOnlyOnce;
-  boolean active;
+  volatile boolean active;
   long prd;
+  // set while the task is waiting to be executed by the animation thread
+  final AtomicBoolean handedOff = new AtomicBoolean();
 
   public NonSeqTimer(Scene scn, Taskable o) {
     this(scn, o, false);
@@ -35,6 +51,37 @@ class NonSeqTimer implements Timer {
     tmnTask = o;
   }
 
+  /**
+   * Returns the executor shared by all the non-seq timers, creating it if needed. Its
+   * (single, daemon) thread doesn't prevent the application from exiting.
+   */
+  static synchronized ScheduledThreadPoolExecutor executor() {
+    if (executor == null) {
+      executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "proscene-timer");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      // cancelled timers are released right away
+      executor.setRemoveOnCancelPolicy(true);
+    }
+    return executor;
+  }
+
+  /**
+   * Executes the task if the timer is still active. Called by the animation thread on
+   * the handed off timers.
+   *
+   * @see Scene#isTimerHandOffEnabled()
+   */
+  void execute() {
+    handedOff.set(false);
+    if (isActive())
+      tmnTask.execute();
+  }
+
   @Override
   public Taskable timingTask() {
     return tmnTask;
@@ -43,12 +90,16 @@ class NonSeqTimer implements Timer {
   @Override
   public void create() {
     stop();
-    timer = new java.util.Timer();
-    timerTask = new java.util.TimerTask() {
-      public void run() {
-        tmnTask.execute();
-      }
-    };
+    if (runnable == null)
+      runnable = new Runnable() {
+        public void run() {
+          if (!scene.isTimerHandOffEnabled())
+            tmnTask.execute();
+          // a task still waiting for the animation thread isn't handed off twice
+          else if (handedOff.compareAndSet(false, true))
+            scene.handOff(NonSeqTimer.this);
+        }
+      };
   }
 
   @Override
@@ -60,11 +111,11 @@ class NonSeqTimer implements Timer {
   @Override
   public void run() {
     create();
+    active = true;
     if (isSingleShot())
-      timer.schedule(timerTask, prd);
+      future = executor().schedule(runnable, prd, TimeUnit.MILLISECONDS);
     else
-      timer.scheduleAtFixedRate(timerTask, 0, prd);
-    active = true;
+      future = executor().scheduleAtFixedRate(runnable, 0, prd, TimeUnit.MILLISECONDS);
   }
 
   @Override
@@ -74,16 +125,16 @@ class NonSeqTimer implements Timer {
 
   @Override
   public void stop() {
-    if (timer != null) {
-      timer.cancel();
-      timer.purge();
+    if (future != null) {
+      future.cancel(false);
+      future = null;
     }
     active = false;
   }
 
   @Override
   public boolean isActive() {
-    return timer != null && active;
+    return future != null && active;
   }
 
   @Override
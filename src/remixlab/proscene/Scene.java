@@ -32,7 +32,9 @@ import java.lang.reflect.Method;
 import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Pattern;
 
 // begin: GWT-incompatible
@@ -106,6 +108,8 @@ public class Scene extends AbstractScene implements PConstants {
 
   // Timing
   protected boolean javaTiming;
+  protected volatile boolean timerHandOff;
+  protected ConcurrentLinkedQueue<NonSeqTimer> handOffQueue = new ConcurrentLinkedQueue<NonSeqTimer>();
   // end: GWT-incompatible
   // */
 
@@ -123,6 +127,8 @@ public class Scene extends AbstractScene implements PConstants {
   protected PShader pickingBufferShaderTriangle, pickingBufferShaderLine, pickingBufferShaderPoint;
 
   protected Profile profile;
+  // default bindings shared by the (non-eye) frames of a given class
+  protected HashMap<Class<?>, Profile> frameProfiles = new HashMap<Class<?>, Profile>();
 
   // E X C E P T I O N H A N D L I N G
   protected int beginOffScreenDrawingCalls;
@@ -327,7 +333,7 @@ public class Scene extends AbstractScene implements PConstants {
 
   @Override
   public boolean checkIfGrabsInput(KeyboardEvent event) {
-    return profile.hasBinding(event.shortcut());
+    return profile.hasBinding(event);
   }
 
   // P5 STUFF
@@ -1036,21 +1042,24 @@ public class Scene extends AbstractScene implements PConstants {
 
     boolean isActive;
 
-    for (TimingTask task : timingHandler().timerPool()) {
-      long period = 0;
-      boolean rOnce = false;
-      isActive = task.isActive();
-      if (isActive) {
-        period = task.period();
-        rOnce = task.timer().isSingleShot();
-      }
-      task.stop();
-      task.setTimer(new NonSeqTimer(this, task));
-      if (isActive) {
-        if (rOnce)
-          task.runOnce(period);
-        else
-          task.run(period);
+    // tasks may be (un)registered from the timer threads
+    synchronized (timingHandler()) {
+      for (TimingTask task : timingHandler().timerPool()) {
+        long period = 0;
+        boolean rOnce = false;
+        isActive = task.isActive();
+        if (isActive) {
+          period = task.period();
+          rOnce = task.timer().isSingleShot();
+        }
+        task.stop();
+        task.setTimer(new NonSeqTimer(this, task));
+        if (isActive) {
+          if (rOnce)
+            task.runOnce(period);
+          else
+            task.run(period);
+        }
       }
     }
 
@@ -1080,6 +1089,72 @@ public class Scene extends AbstractScene implements PConstants {
       setSeqTimers();
   }
 
+  /**
+   * Makes the (non-seq) timers hand their tasks off to the animation thread, where they're
+   * executed at the next {@link #preDraw()}, instead of executing them from the timers'
+   * thread. Enable it when the tasks touch the scene state, e.g., to spin or fly frames.
+   * Note that a task is then executed at most once per frame.
+   *
+   * @see #disableTimerHandOff()
+   * @see #areTimersSeq()
+   */
+  public void enableTimerHandOff() {
+    timerHandOff = true;
+  }
+
+  /**
+   * Makes the (non-seq) timers execute their tasks from the timers' thread (default).
+   *
+   * @see #enableTimerHandOff()
+   */
+  public void disableTimerHandOff() {
+    timerHandOff = false;
+  }
+
+  /**
+   * Toggles the timer hand-off.
+   *
+   * @see #enableTimerHandOff()
+   */
+  public void toggleTimerHandOff() {
+    if (isTimerHandOffEnabled())
+      disableTimerHandOff();
+    else
+      enableTimerHandOff();
+  }
+
+  /**
+   * Returns {@code true} if the (non-seq) timers hand their tasks off to the animation
+   * thread.
+   *
+   * @see #enableTimerHandOff()
+   */
+  public boolean isTimerHandOffEnabled() {
+    return timerHandOff;
+  }
+
+  /**
+   * Internal use. Queues the timer task to be executed by the animation thread. Called
+   * from the timers' thread.
+   */
+  void handOff(NonSeqTimer timer) {
+    handOffQueue.offer(timer);
+  }
+
+  /**
+   * Internal use. Executes the tasks handed off by the (non-seq) timers. Only those
+   * queued before the call are executed, so that a task slower than its period doesn't
+   * stall the frame.
+   */
+  protected void executeHandedOffTasks() {
+    for (int i = handOffQueue.size(); i > 0; i--) {
+      NonSeqTimer timer = handOffQueue.poll();
+      if (timer == null)
+        break;
+      timer.execute();
+    }
+  }
+
   // ANIMATION METHOD REG
 
   @Override
@@ -1193,6 +1268,8 @@ public class Scene extends AbstractScene implements PConstants {
   /**
    * Called before your main drawing and performs the following:
    * <ol>
+   * <li>Executes the timer tasks handed off to the animation thread (see
+   * {@link #enableTimerHandOff()})</li>
    * <li>Handles the {@link #avatar()}</li>
    * <li>Calls {@link #bindMatrices()}</li>
    * <li>Calls {@link remixlab.dandelion.core.Eye#updateBoundaryEquations()} if
@@ -1211,6 +1288,13 @@ public class Scene extends AbstractScene implements PConstants {
    */
   @Override
   public void preDraw() {
+    // 0. Timer tasks handed off to the animation thread
+    // begin: GWT-incompatible
+    // /*
+    if (!handOffQueue.isEmpty())
+      executeHandedOffTasks();
+    // end: GWT-incompatible
+    // */
     // 1. Avatar
     if (avatar() != null && (!eye().anyInterpolationStarted()))
       eye().frame().setWorldMatrix(avatar().trackingEyeFrame());
@@ -1940,13 +2024,26 @@ public class Scene extends AbstractScene implements PConstants {
   }
 
   @Override
-  protected void visitFrame(GenericFrame frame) {
+  protected void enterFrame(GenericFrame frame) {
     targetPGraphics.pushMatrix();
     applyTransformation(targetPGraphics, frame);
-    if (frame instanceof GenericFrame)
-      frame.visitCallback();
-    for (GenericFrame child : frame.children())
-      visitFrame(child);
+    frame.visitCallback();
+  }
+
+  @Override
+  protected void enterFrame(GenericFrame frame, Mat world) {
+    targetPGraphics.pushMatrix();
+    if (targetPGraphics instanceof PGraphics3D)
+      targetPGraphics.applyMatrix(world.mat[0], world.mat[4], world.mat[8], world.mat[12], world.mat[1], world.mat[5],
+          world.mat[9], world.mat[13], world.mat[2], world.mat[6], world.mat[10], world.mat[14], world.mat[3],
+          world.mat[7], world.mat[11], world.mat[15]);
+    else
+      targetPGraphics.applyMatrix(world.mat[0], world.mat[4], world.mat[12], world.mat[1], world.mat[5], world.mat[13]);
+    frame.visitCallback();
+  }
+
+  @Override
+  protected void exitFrame(GenericFrame frame) {
     targetPGraphics.popMatrix();
   }
 
@@ -0,0 +1,62 @@
+/**************************************************************************************
+ * util_tree
+ * Copyright (c) 2014-2017 National University of Colombia, https://github.com/remixlab
+ * @author Jean Pierre Charalambos, http://otrolado.info/
+ *
+ * All rights reserved. Library that eases the creation of interactive
+ * scenes, released under the terms of the GNU Public License v3.0
+ * which is available at http://www.gnu.org/licenses/gpl.html
+ **************************************************************************************/
+
+
+package remixlab.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * A reflective method invocation which reuses its arguments array among calls, so that
+ * invoking a method taking up to two parameters doesn't allocate. A reentrant call (i.e.,
+ * one issued from within the invoked method itself) gets its own array. The arguments
+ * are cleared once the method returns, so that they aren't kept alive.
+ */
+public class MethodInvocation {
+  protected Method method;
+  protected Object[] args;
+  protected boolean invoking;
+
+  public MethodInvocation(Method m) {
+    method = m;
+    args = new Object[m.getParameterTypes().length];
+  }
+
+  /**
+   * Returns the invoked method.
+   */
+  public Method method() {
+    return method;
+  }
+
+  /**
+   * Invokes the {@link #method()} on {@code object}, passing {@code first} and
+   * {@code second} as its first and second parameters, if it declares them. Returns the
+   * method result.
+   */
+  public Object invoke(Object object, Object first, Object second)
+      throws IllegalAccessException, InvocationTargetException {
+    boolean reentrant = invoking;
+    Object[] arguments = reentrant ? new Object[args.length] : args;
+    if (arguments.length > 0)
+      arguments[0] = first;
+    if (arguments.length > 1)
+      arguments[1] = second;
+    invoking = true;
+    try {
+      return method.invoke(object, arguments);
+    } finally {
+      invoking = reentrant;
+      Arrays.fill(arguments, null);
+    }
+  }
+}